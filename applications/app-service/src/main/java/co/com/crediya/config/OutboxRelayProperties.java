@@ -0,0 +1,15 @@
+package co.com.crediya.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "outbox.relay")
+public record OutboxRelayProperties(
+    @DefaultValue("1s") Duration intervalo,
+    @DefaultValue("50") int tamanioLote,
+    @DefaultValue("10") int maxIntentos,
+    @DefaultValue("30s") Duration bloqueo,
+    @DefaultValue("5s") Duration backoffBase,
+    @DefaultValue("10m") Duration backoffMaximo) {}
@@ -0,0 +1,9 @@
+package co.com.crediya.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "reportes.solicitudes-aprobadas")
+public record ReportesProperties(@DefaultValue("5s") Duration ventana) {}
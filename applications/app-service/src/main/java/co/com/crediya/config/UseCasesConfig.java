@@ -1,12 +1,19 @@
 package co.com.crediya.config;
 
+import co.com.crediya.model.common.gateways.MetricasGateway;
+import co.com.crediya.model.common.gateways.TransaccionGateway;
 import co.com.crediya.model.solicitud.gateways.CapacidadEndeudamientoGateway;
 import co.com.crediya.model.solicitud.gateways.EstadoRepository;
+import co.com.crediya.model.solicitud.gateways.HistorialSolicitudesRepository;
 import co.com.crediya.model.solicitud.gateways.NotificationGateway;
+import co.com.crediya.model.solicitud.gateways.OutboxRepository;
 import co.com.crediya.model.solicitud.gateways.ReportsGateway;
+import co.com.crediya.model.solicitud.gateways.ResumenAprobadasRepository;
 import co.com.crediya.model.solicitud.gateways.SolicitudRepository;
 import co.com.crediya.model.solicitud.gateways.TipoPrestamoRepository;
 import co.com.crediya.model.usuario.gateways.UsuarioRepository;
+import co.com.crediya.usecase.solicitud.OutboxRelayUseCase;
+import co.com.crediya.usecase.solicitud.ReporteAprobadasUseCase;
 import co.com.crediya.usecase.solicitud.SolicitudUseCase;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,22 +21,62 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class UseCasesConfig {
 
-  @Bean
+  @Bean(initMethod = "iniciar")
   public SolicitudUseCase solicitudUseCase(
       SolicitudRepository solicitudRepository,
       TipoPrestamoRepository tipoPrestamoRepository,
       EstadoRepository estadoRepository,
-      NotificationGateway notificationGateway,
-      CapacidadEndeudamientoGateway capacidadEndeudamientoGateway,
-      UsuarioRepository usuarioRepository,
-      ReportsGateway reportsGateway) {
+      ResumenAprobadasRepository resumenAprobadasRepository,
+      ReporteAprobadasUseCase reporteAprobadasUseCase,
+      OutboxRepository outboxRepository,
+      TransaccionGateway transaccionGateway,
+      HistorialSolicitudesRepository historialSolicitudesRepository,
+      MetricasGateway metricasGateway) {
     return new SolicitudUseCase(
         solicitudRepository,
         tipoPrestamoRepository,
         estadoRepository,
+        resumenAprobadasRepository,
+        reporteAprobadasUseCase,
+        outboxRepository,
+        transaccionGateway,
+        historialSolicitudesRepository,
+        metricasGateway);
+  }
+
+  @Bean(initMethod = "iniciar", destroyMethod = "detener")
+  public OutboxRelayUseCase outboxRelayUseCase(
+      OutboxRepository outboxRepository,
+      SolicitudRepository solicitudRepository,
+      HistorialSolicitudesRepository historialSolicitudesRepository,
+      UsuarioRepository usuarioRepository,
+      NotificationGateway notificationGateway,
+      CapacidadEndeudamientoGateway capacidadEndeudamientoGateway,
+      MetricasGateway metricasGateway,
+      OutboxRelayProperties outboxRelayProperties) {
+    return new OutboxRelayUseCase(
+        outboxRepository,
+        solicitudRepository,
+        historialSolicitudesRepository,
+        usuarioRepository,
         notificationGateway,
         capacidadEndeudamientoGateway,
-        usuarioRepository,
-        reportsGateway);
+        metricasGateway,
+        new OutboxRelayUseCase.Configuracion(
+            outboxRelayProperties.intervalo(),
+            outboxRelayProperties.tamanioLote(),
+            outboxRelayProperties.maxIntentos(),
+            outboxRelayProperties.bloqueo(),
+            outboxRelayProperties.backoffBase(),
+            outboxRelayProperties.backoffMaximo()));
+  }
+
+  @Bean(initMethod = "iniciar", destroyMethod = "detener")
+  public ReporteAprobadasUseCase reporteAprobadasUseCase(
+      ResumenAprobadasRepository resumenAprobadasRepository,
+      ReportsGateway reportsGateway,
+      ReportesProperties reportesProperties) {
+    return new ReporteAprobadasUseCase(
+        resumenAprobadasRepository, reportsGateway, reportesProperties.ventana());
   }
 }
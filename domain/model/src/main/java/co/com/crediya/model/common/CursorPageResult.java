@@ -0,0 +1,19 @@
+package co.com.crediya.model.common;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResult<T>(List<T> content, int size, Long ultimoId, boolean hayMas) {
+
+  public static <T> CursorPageResult<T> desdeConsulta(
+      List<T> filas, int size, Function<T, Long> idDe) {
+    boolean hayMas = filas.size() > size;
+    List<T> content = hayMas ? filas.subList(0, size) : filas;
+    Long ultimoId = content.isEmpty() ? null : idDe.apply(content.get(content.size() - 1));
+    return new CursorPageResult<>(content, size, ultimoId, hayMas);
+  }
+
+  public boolean isEmpty() {
+    return content.isEmpty();
+  }
+}
@@ -2,7 +2,13 @@ package co.com.crediya.model.common;
 
 import java.util.List;
 
-public record PageResult<T>(List<T> content, int page, int size, long totalElements) {
+public record PageResult<T>(
+    List<T> content, int page, int size, long totalElements, boolean totalExacto) {
+
+  public PageResult(List<T> content, int page, int size, long totalElements) {
+    this(content, page, size, totalElements, true);
+  }
+
   public int getTotalPages() {
     return (int) Math.ceil((double) totalElements / size);
   }
@@ -12,6 +18,10 @@ public record PageResult<T>(List<T> content, int page, int size, long totalEleme
   }
 
   public boolean isLast() {
+    // Con un total aproximado solo una página incompleta confirma que es la última
+    if (!totalExacto) {
+      return content.size() < size;
+    }
     return page >= getTotalPages() - 1;
   }
 
@@ -0,0 +1,9 @@
+package co.com.crediya.model.common.gateways;
+
+import reactor.core.publisher.Mono;
+
+public interface MetricasGateway {
+  String SIN_TIPO_PRESTAMO = "ninguno";
+
+  <T> Mono<T> medirEtapa(String flujo, String etapa, String tipoPrestamo, Mono<T> operacion);
+}
@@ -0,0 +1,7 @@
+package co.com.crediya.model.common.gateways;
+
+import reactor.core.publisher.Mono;
+
+public interface TransaccionGateway {
+  <T> Mono<T> ejecutar(Mono<T> operacion);
+}
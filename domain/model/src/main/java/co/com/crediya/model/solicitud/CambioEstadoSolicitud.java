@@ -0,0 +1,3 @@
+package co.com.crediya.model.solicitud;
+
+public record CambioEstadoSolicitud(Long idSolicitud, Long idEstado) {}
@@ -1,6 +1,8 @@
 package co.com.crediya.model.solicitud;
 
 public class Estado {
+  public static final String NOMBRE_APROBADA = "Aprobada";
+
   private final Long idEstado;
   private final String nombre;
   private final String descripcion;
@@ -30,4 +32,8 @@ public class Estado {
   public String getDescripcion() {
     return descripcion;
   }
+
+  public boolean esAprobada() {
+    return NOMBRE_APROBADA.equalsIgnoreCase(nombre);
+  }
 }
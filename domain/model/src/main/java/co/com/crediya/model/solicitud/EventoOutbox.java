@@ -0,0 +1,20 @@
+package co.com.crediya.model.solicitud;
+
+public record EventoOutbox(
+    Long idEvento,
+    TipoEventoOutbox tipo,
+    Long idSolicitud,
+    String email,
+    String estado,
+    int intentos) {
+
+  public static EventoOutbox validacionCapacidad(Long idSolicitud) {
+    return new EventoOutbox(
+        null, TipoEventoOutbox.VALIDACION_CAPACIDAD, idSolicitud, null, null, 0);
+  }
+
+  public static EventoOutbox notificacionEstado(Long idSolicitud, String email, String estado) {
+    return new EventoOutbox(
+        null, TipoEventoOutbox.NOTIFICACION_ESTADO, idSolicitud, email, estado, 0);
+  }
+}
@@ -0,0 +1,12 @@
+package co.com.crediya.model.solicitud;
+
+public record FilaImportacion(long fila, Solicitud solicitud, String error) {
+
+  public static FilaImportacion valida(long fila, Solicitud solicitud) {
+    return new FilaImportacion(fila, solicitud, null);
+  }
+
+  public static FilaImportacion invalida(long fila, String error) {
+    return new FilaImportacion(fila, null, error);
+  }
+}
@@ -0,0 +1,13 @@
+package co.com.crediya.model.solicitud;
+
+public record ResultadoCambioEstado(
+    Long idSolicitud, Long idEstado, boolean actualizada, String error) {
+
+  public static ResultadoCambioEstado exitoso(CambioEstadoSolicitud cambio) {
+    return new ResultadoCambioEstado(cambio.idSolicitud(), cambio.idEstado(), true, null);
+  }
+
+  public static ResultadoCambioEstado fallido(CambioEstadoSolicitud cambio, String error) {
+    return new ResultadoCambioEstado(cambio.idSolicitud(), cambio.idEstado(), false, error);
+  }
+}
@@ -0,0 +1,12 @@
+package co.com.crediya.model.solicitud;
+
+public record ResultadoImportacion(long fila, Long idSolicitud, boolean creada, String error) {
+
+  public static ResultadoImportacion creada(long fila, Long idSolicitud) {
+    return new ResultadoImportacion(fila, idSolicitud, true, null);
+  }
+
+  public static ResultadoImportacion fallida(long fila, String error) {
+    return new ResultadoImportacion(fila, null, false, error);
+  }
+}
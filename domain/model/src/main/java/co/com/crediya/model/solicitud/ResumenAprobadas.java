@@ -0,0 +1,10 @@
+package co.com.crediya.model.solicitud;
+
+import java.math.BigDecimal;
+
+public record ResumenAprobadas(long totalSolicitudes, BigDecimal montoTotal) {
+
+  public static ResumenAprobadas vacio() {
+    return new ResumenAprobadas(0, BigDecimal.ZERO);
+  }
+}
@@ -0,0 +1,11 @@
+package co.com.crediya.model.solicitud;
+
+import java.math.BigDecimal;
+
+public record SolicitudDetalle(
+    Solicitud solicitud, String nombreTipoPrestamo, BigDecimal tasaInteres, String nombreEstado) {
+
+  public BigDecimal calcularDeudaTotalMensual() {
+    return solicitud.calcularDeudaTotalMensual(tasaInteres);
+  }
+}
@@ -0,0 +1,6 @@
+package co.com.crediya.model.solicitud;
+
+public enum TipoEventoOutbox {
+  VALIDACION_CAPACIDAD,
+  NOTIFICACION_ESTADO
+}
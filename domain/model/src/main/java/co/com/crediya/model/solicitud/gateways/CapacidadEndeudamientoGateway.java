@@ -1,6 +1,7 @@
 package co.com.crediya.model.solicitud.gateways;
 
 import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
 import co.com.crediya.model.usuario.Usuario;
 import reactor.core.publisher.Mono;
 
@@ -8,5 +9,8 @@ import java.util.List;
 
 public interface CapacidadEndeudamientoGateway {
   Mono<String> enviarSolicitudCapacidadEndeudamiento(
-      Usuario usuario, Solicitud solicitud, List<Solicitud> solicitudes, Long idSolicitudActual);
+      Usuario usuario,
+      Solicitud solicitud,
+      List<SolicitudDetalle> solicitudes,
+      Long idSolicitudActual);
 }
@@ -0,0 +1,18 @@
+package co.com.crediya.model.solicitud.gateways;
+
+import co.com.crediya.model.solicitud.Estado;
+import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface HistorialSolicitudesRepository {
+  Mono<List<SolicitudDetalle>> obtenerPorIdUser(String idUser);
+
+  Mono<List<SolicitudDetalle>> recargar(String idUser);
+
+  Mono<Void> registrar(SolicitudDetalle detalle);
+
+  Mono<Void> actualizarEstado(Solicitud solicitud, Estado estado);
+}
@@ -0,0 +1,11 @@
+package co.com.crediya.model.solicitud.gateways;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+public interface MensajeProcesadoRepository {
+  Mono<Boolean> fueProcesado(String clave, Duration vigencia);
+
+  Mono<Void> registrar(String clave);
+}
@@ -0,0 +1,20 @@
+package co.com.crediya.model.solicitud.gateways;
+
+import co.com.crediya.model.solicitud.EventoOutbox;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface OutboxRepository {
+  Mono<Void> registrar(EventoOutbox evento);
+
+  Mono<Void> registrarTodos(List<EventoOutbox> eventos);
+
+  Flux<EventoOutbox> reclamarPendientes(int limite, Duration bloqueo, int maxIntentos);
+
+  Mono<Void> marcarEnviados(List<Long> idsEventos);
+
+  Mono<Void> registrarFallo(EventoOutbox evento, Duration reintentarEn, boolean agotado);
+}
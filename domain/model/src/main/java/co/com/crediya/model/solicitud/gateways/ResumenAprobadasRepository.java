@@ -0,0 +1,14 @@
+package co.com.crediya.model.solicitud.gateways;
+
+import co.com.crediya.model.solicitud.ResumenAprobadas;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface ResumenAprobadasRepository {
+  Mono<Void> aplicarDelta(long deltaSolicitudes, BigDecimal deltaMonto);
+
+  Mono<ResumenAprobadas> obtener();
+
+  Mono<ResumenAprobadas> reconciliar();
+}
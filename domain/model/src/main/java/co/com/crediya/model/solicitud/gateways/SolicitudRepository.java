@@ -1,28 +1,37 @@
 package co.com.crediya.model.solicitud.gateways;
 
+import co.com.crediya.model.common.CursorPageResult;
 import co.com.crediya.model.common.PageResult;
 import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface SolicitudRepository {
   Mono<Solicitud> crear(Solicitud solicitud);
 
+  Mono<List<Solicitud>> crearEnLote(List<Solicitud> solicitudes);
+
   Mono<Boolean> existePorIdUser(String idUser);
 
-  Mono<PageResult<Solicitud>> obtenerSolicitudes(int page, int size);
+  Mono<PageResult<SolicitudDetalle>> obtenerSolicitudes(int page, int size);
+
+  Mono<CursorPageResult<SolicitudDetalle>> obtenerSolicitudesDesde(Long ultimoId, int size);
 
-  Mono<List<Solicitud>> obtenerSolicitudesPorIdUser(String idUser);
+  Flux<SolicitudDetalle> obtenerDetallesPorIdUser(String idUser);
 
   Mono<Solicitud> actualizar(Solicitud solicitud);
 
+  Mono<Solicitud> actualizarEstado(Solicitud solicitud, Long nuevoIdEstado);
+
+  Flux<Solicitud> bloquearPorIds(Collection<Long> idsSolicitud);
+
+  Mono<Long> actualizarEstadoEnLote(Collection<Long> idsSolicitud, Long nuevoIdEstado);
+
   Mono<Solicitud> findById(Long idSolicitud);
 
   Mono<Boolean> existeById(Long idSolicitud);
-  
-  Mono<Long> contarSolicitudesAprobadas();
-  
-  Mono<BigDecimal> sumarMontoSolicitudesAprobadas();
 }
@@ -0,0 +1,52 @@
+package co.com.crediya.model.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageResultTest {
+
+  @Test
+  void desdeConsulta_deberiaRecortarFilaExtra_y_indicarQueHayMas() {
+    // Arrange
+    List<Long> filas = List.of(30L, 20L, 10L);
+
+    // Act
+    CursorPageResult<Long> resultado =
+        CursorPageResult.desdeConsulta(filas, 2, Function.identity());
+
+    // Assert
+    assertEquals(List.of(30L, 20L), resultado.content());
+    assertEquals(20L, resultado.ultimoId());
+    assertTrue(resultado.hayMas());
+  }
+
+  @Test
+  void desdeConsulta_deberiaIndicarUltimaPagina_whenNoHayFilaExtra() {
+    // Arrange
+    List<Long> filas = List.of(5L);
+
+    // Act
+    CursorPageResult<Long> resultado =
+        CursorPageResult.desdeConsulta(filas, 2, Function.identity());
+
+    // Assert
+    assertEquals(5L, resultado.ultimoId());
+    assertFalse(resultado.hayMas());
+  }
+
+  @Test
+  void desdeConsulta_deberiaRetornarUltimoIdNulo_whenNoHayFilas() {
+    // Act
+    CursorPageResult<Long> resultado =
+        CursorPageResult.desdeConsulta(List.of(), 10, Function.identity());
+
+    // Assert
+    assertTrue(resultado.isEmpty());
+    assertNull(resultado.ultimoId());
+    assertFalse(resultado.hayMas());
+  }
+}
@@ -119,4 +119,25 @@ class PageResultTest {
     // Assert
     assertFalse(isEmpty);
   }
+
+  @Test
+  void isLast_deberiaDependerDelContenido_cuandoTotalNoEsExacto() {
+    // Arrange
+    PageResult<Integer> paginaCompleta = new PageResult<>(List.of(1, 2), 5, 2, 4, false);
+    PageResult<Integer> paginaIncompleta = new PageResult<>(List.of(1), 5, 2, 4, false);
+
+    // Act & Assert
+    assertFalse(paginaCompleta.totalExacto());
+    assertFalse(paginaCompleta.isLast());
+    assertTrue(paginaIncompleta.isLast());
+  }
+
+  @Test
+  void constructorSinTotalExacto_deberiaAsumirTotalExacto() {
+    // Arrange
+    PageResult<Integer> pageResult = new PageResult<>(List.of(1), 0, 10, 1);
+
+    // Assert
+    assertTrue(pageResult.totalExacto());
+  }
 }
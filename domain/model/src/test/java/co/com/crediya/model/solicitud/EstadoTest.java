@@ -93,4 +93,18 @@ class EstadoTest {
     assertEquals(expectedNombre, estado.getNombre());
     assertEquals(expectedDescripcion, estado.getDescripcion());
   }
+
+  @Test
+  @DisplayName("esAprobada - Debe identificar el estado Aprobada sin importar mayúsculas")
+  void esAprobada_DebeIdentificarEstadoAprobada() {
+    // Arrange
+    Estado aprobada = Estado.toEstado(2L, "Aprobada", "Solicitud aprobada");
+    Estado aprobadaMayusculas = Estado.toEstado(2L, "APROBADA", "Solicitud aprobada");
+    Estado rechazada = Estado.toEstado(3L, "Rechazada", "Solicitud rechazada");
+
+    // Act & Assert
+    assertTrue(aprobada.esAprobada());
+    assertTrue(aprobadaMayusculas.esAprobada());
+    assertFalse(rechazada.esAprobada());
+  }
 }
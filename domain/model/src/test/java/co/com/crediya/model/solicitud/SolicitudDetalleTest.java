@@ -0,0 +1,33 @@
+package co.com.crediya.model.solicitud;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SolicitudDetalleTest {
+
+  @Test
+  void calcularDeudaTotalMensual_deberiaUsarTasaDelTipoPrestamo() {
+    // Arrange
+    Solicitud solicitud =
+        Solicitud.fromDatabase(
+            1L,
+            "123",
+            "mail@test.com",
+            new BigDecimal("1200000"),
+            LocalDate.now().plusMonths(12),
+            1L,
+            1L);
+    BigDecimal tasa = new BigDecimal("12");
+    SolicitudDetalle detalle = new SolicitudDetalle(solicitud, "Personal", tasa, "Aprobada");
+
+    // Act
+    BigDecimal deuda = detalle.calcularDeudaTotalMensual();
+
+    // Assert
+    assertEquals(solicitud.calcularDeudaTotalMensual(tasa), deuda);
+  }
+}
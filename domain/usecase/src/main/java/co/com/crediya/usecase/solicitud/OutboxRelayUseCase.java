@@ -0,0 +1,196 @@
+package co.com.crediya.usecase.solicitud;
+
+import co.com.crediya.model.common.gateways.MetricasGateway;
+import co.com.crediya.model.solicitud.EventoOutbox;
+import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import co.com.crediya.model.solicitud.gateways.CapacidadEndeudamientoGateway;
+import co.com.crediya.model.solicitud.gateways.HistorialSolicitudesRepository;
+import co.com.crediya.model.solicitud.gateways.NotificationGateway;
+import co.com.crediya.model.solicitud.gateways.OutboxRepository;
+import co.com.crediya.model.solicitud.gateways.SolicitudRepository;
+import co.com.crediya.model.usuario.Usuario;
+import co.com.crediya.model.usuario.gateways.UsuarioRepository;
+import co.com.crediya.usecase.solicitud.exceptions.NotFoundException;
+import co.com.crediya.usecase.solicitud.exceptions.TechnicalException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Despacha en segundo plano los eventos que SolicitudUseCase registra en el outbox dentro de la
+ * misma transacción que la solicitud. Cada ciclo reclama un lote de eventos pendientes, los envía
+ * en paralelo y marca como enviados los exitosos; los que fallan quedan pendientes para el
+ * siguiente ciclo hasta agotar los intentos.
+ */
+public class OutboxRelayUseCase {
+  private static final String FLUJO_VALIDACION = "validacion_automatica";
+
+  private final OutboxRepository outboxRepository;
+  private final SolicitudRepository solicitudRepository;
+  private final HistorialSolicitudesRepository historialSolicitudesRepository;
+  private final UsuarioRepository usuarioRepository;
+  private final NotificationGateway notificationGateway;
+  private final CapacidadEndeudamientoGateway capacidadEndeudamientoGateway;
+  private final MetricasGateway metricasGateway;
+  private final Configuracion configuracion;
+  private Disposable relay;
+
+  public OutboxRelayUseCase(
+      OutboxRepository outboxRepository,
+      SolicitudRepository solicitudRepository,
+      HistorialSolicitudesRepository historialSolicitudesRepository,
+      UsuarioRepository usuarioRepository,
+      NotificationGateway notificationGateway,
+      CapacidadEndeudamientoGateway capacidadEndeudamientoGateway,
+      MetricasGateway metricasGateway,
+      Configuracion configuracion) {
+    this.outboxRepository = outboxRepository;
+    this.solicitudRepository = solicitudRepository;
+    this.historialSolicitudesRepository = historialSolicitudesRepository;
+    this.usuarioRepository = usuarioRepository;
+    this.notificationGateway = notificationGateway;
+    this.capacidadEndeudamientoGateway = capacidadEndeudamientoGateway;
+    this.metricasGateway = metricasGateway;
+    this.configuracion = configuracion;
+  }
+
+  public void iniciar() {
+    relay =
+        Flux.interval(configuracion.intervalo())
+            .onBackpressureDrop()
+            .concatMap(tick -> drenar())
+            .subscribe();
+  }
+
+  public void detener() {
+    if (relay != null) {
+      relay.dispose();
+    }
+  }
+
+  Mono<Void> drenar() {
+    // Mientras los lotes salgan completos se sigue drenando sin esperar al siguiente ciclo
+    return procesarLote()
+        .expand(
+            procesados ->
+                procesados >= configuracion.tamanioLote() ? procesarLote() : Mono.empty())
+        .then()
+        .onErrorResume(error -> Mono.empty());
+  }
+
+  private Mono<Integer> procesarLote() {
+    return outboxRepository
+        .reclamarPendientes(
+            configuracion.tamanioLote(), configuracion.bloqueo(), configuracion.maxIntentos())
+        .collectList()
+        .flatMap(
+            eventos ->
+                Flux.fromIterable(eventos)
+                    .flatMap(this::despacharEvento, configuracion.tamanioLote())
+                    .collectList()
+                    .flatMap(outboxRepository::marcarEnviados)
+                    .thenReturn(eventos.size()));
+  }
+
+  private Mono<Long> despacharEvento(EventoOutbox evento) {
+    return despachar(evento)
+        .thenReturn(evento.idEvento())
+        .onErrorResume(
+            error ->
+                outboxRepository
+                    .registrarFallo(
+                        evento,
+                        esperaReintento(evento.intentos()),
+                        evento.intentos() + 1 >= configuracion.maxIntentos())
+                    .then(Mono.empty()));
+  }
+
+  // Backoff exponencial para que una caída del destino no agote los intentos en segundos
+  private Duration esperaReintento(int intentosPrevios) {
+    Duration espera =
+        configuracion.backoffBase().multipliedBy(1L << Math.min(intentosPrevios, 20));
+    return espera.compareTo(configuracion.backoffMaximo()) > 0
+        ? configuracion.backoffMaximo()
+        : espera;
+  }
+
+  private Mono<Void> despachar(EventoOutbox evento) {
+    return switch (evento.tipo()) {
+      case NOTIFICACION_ESTADO ->
+          notificationGateway
+              .enviarNotificacionEstadoSolicitud(
+                  evento.email(), evento.estado(), evento.idSolicitud())
+              .then();
+      case VALIDACION_CAPACIDAD -> solicitarValidacionCapacidad(evento.idSolicitud());
+    };
+  }
+
+  private Mono<Void> solicitarValidacionCapacidad(Long idSolicitud) {
+    // Un resultado vacío se trata como fallo para que el evento se reintente y no quede enviado
+    return medirValidacion("carga_solicitud", solicitudRepository.findById(idSolicitud))
+        .switchIfEmpty(
+            Mono.error(
+                new NotFoundException(
+                    String.format("No existe una solicitud con ID: %s", idSolicitud))))
+        .flatMap(
+            solicitud ->
+                obtenerUsuario(solicitud)
+                    .flatMap(usuario -> enviarValidacionCapacidad(usuario, solicitud)))
+        .then();
+  }
+
+  private Mono<Usuario> obtenerUsuario(Solicitud solicitud) {
+    return medirValidacion(
+            "usuarios",
+            usuarioRepository.obtenerUsuarioPorId(Long.valueOf(solicitud.getIdUser())))
+        .switchIfEmpty(
+            Mono.error(
+                new TechnicalException(
+                    String.format(
+                        "No fue posible obtener el usuario %s de la solicitud %s",
+                        solicitud.getIdUser(), solicitud.getIdSolicitud()))));
+  }
+
+  private Mono<String> enviarValidacionCapacidad(Usuario usuario, Solicitud solicitud) {
+    return medirValidacion("historial", obtenerHistorial(solicitud))
+        .flatMap(
+            solicitudes ->
+                medirValidacion(
+                    "envio_sqs",
+                    capacidadEndeudamientoGateway.enviarSolicitudCapacidadEndeudamiento(
+                        usuario, solicitud, solicitudes, solicitud.getIdSolicitud())));
+  }
+
+  private <T> Mono<T> medirValidacion(String etapa, Mono<T> operacion) {
+    return metricasGateway.medirEtapa(
+        FLUJO_VALIDACION, etapa, MetricasGateway.SIN_TIPO_PRESTAMO, operacion);
+  }
+
+  private Mono<List<SolicitudDetalle>> obtenerHistorial(Solicitud solicitud) {
+    // Si el historial en caché aún no incluye la solicitud evaluada se recarga desde la base
+    return historialSolicitudesRepository
+        .obtenerPorIdUser(solicitud.getIdUser())
+        .flatMap(
+            historial ->
+                historial.stream()
+                        .anyMatch(
+                            detalle ->
+                                solicitud
+                                    .getIdSolicitud()
+                                    .equals(detalle.solicitud().getIdSolicitud()))
+                    ? Mono.just(historial)
+                    : historialSolicitudesRepository.recargar(solicitud.getIdUser()));
+  }
+
+  public record Configuracion(
+      Duration intervalo,
+      int tamanioLote,
+      int maxIntentos,
+      Duration bloqueo,
+      Duration backoffBase,
+      Duration backoffMaximo) {}
+}
@@ -0,0 +1,97 @@
+package co.com.crediya.usecase.solicitud;
+
+import co.com.crediya.model.solicitud.gateways.ReportsGateway;
+import co.com.crediya.model.solicitud.gateways.ResumenAprobadasRepository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.Logger;
+import reactor.util.Loggers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Agrupa las solicitudes de reporte de solicitudes aprobadas: durante cada ventana solo se marca
+ * que hay un reporte pendiente y al cerrarla se envía una única vez el resumen vigente. Con una
+ * ventana de cero el reporte se envía inmediatamente en cada solicitud. Si el envío falla el
+ * reporte queda pendiente para la siguiente ventana. Al detenerse se envía el reporte que siga
+ * pendiente.
+ */
+public class ReporteAprobadasUseCase {
+  private static final Logger log = Loggers.getLogger(ReporteAprobadasUseCase.class);
+  private static final Duration ESPERA_CIERRE = Duration.ofSeconds(10);
+
+  private final ResumenAprobadasRepository resumenAprobadasRepository;
+  private final ReportsGateway reportsGateway;
+  private final Duration ventana;
+  private final AtomicBoolean pendiente = new AtomicBoolean(false);
+  private Disposable emision;
+
+  public ReporteAprobadasUseCase(
+      ResumenAprobadasRepository resumenAprobadasRepository,
+      ReportsGateway reportsGateway,
+      Duration ventana) {
+    this.resumenAprobadasRepository = resumenAprobadasRepository;
+    this.reportsGateway = reportsGateway;
+    this.ventana = ventana;
+  }
+
+  public Mono<Void> solicitarReporte() {
+    if (ventana.isZero()) {
+      return enviarReporte().onErrorResume(this::registrarFallo);
+    }
+    pendiente.set(true);
+    return Mono.empty();
+  }
+
+  public void iniciar() {
+    if (ventana.isZero()) {
+      return;
+    }
+    emision =
+        Flux.interval(ventana)
+            .onBackpressureDrop()
+            .concatMap(tick -> emitirPendiente())
+            .subscribe();
+  }
+
+  public void detener() {
+    if (emision != null) {
+      emision.dispose();
+    }
+    try {
+      emitirPendiente().block(ESPERA_CIERRE);
+    } catch (IllegalStateException e) {
+      log.warn(
+          "[REPORTE_APROBADAS] No se envió el reporte pendiente antes de cerrar: {}",
+          e.getMessage());
+    }
+  }
+
+  Mono<Void> emitirPendiente() {
+    if (!pendiente.getAndSet(false)) {
+      return Mono.empty();
+    }
+    return enviarReporte()
+        .doOnError(error -> pendiente.set(true))
+        .onErrorResume(this::registrarFallo);
+  }
+
+  private Mono<Void> enviarReporte() {
+    return resumenAprobadasRepository
+        .obtener()
+        .flatMap(
+            resumen ->
+                reportsGateway.enviarReporteSolicitudesAprobadas(
+                    resumen.totalSolicitudes(), resumen.montoTotal()))
+        .then();
+  }
+
+  private Mono<Void> registrarFallo(Throwable error) {
+    log.warn(
+        "[REPORTE_APROBADAS] No fue posible enviar el reporte de solicitudes aprobadas: {}",
+        error.getMessage());
+    return Mono.empty();
+  }
+}
@@ -1,41 +1,85 @@
 package co.com.crediya.usecase.solicitud;
 
+import co.com.crediya.model.common.CursorPageResult;
 import co.com.crediya.model.common.PageResult;
+import co.com.crediya.model.common.gateways.MetricasGateway;
+import co.com.crediya.model.common.gateways.TransaccionGateway;
+import co.com.crediya.model.solicitud.CambioEstadoSolicitud;
+import co.com.crediya.model.solicitud.Estado;
+import co.com.crediya.model.solicitud.EventoOutbox;
+import co.com.crediya.model.solicitud.FilaImportacion;
+import co.com.crediya.model.solicitud.ResultadoCambioEstado;
+import co.com.crediya.model.solicitud.ResultadoImportacion;
 import co.com.crediya.model.solicitud.Solicitud;
-import co.com.crediya.model.solicitud.gateways.CapacidadEndeudamientoGateway;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import co.com.crediya.model.solicitud.TipoPrestamo;
 import co.com.crediya.model.solicitud.gateways.EstadoRepository;
-import co.com.crediya.model.solicitud.gateways.NotificationGateway;
-import co.com.crediya.model.solicitud.gateways.ReportsGateway;
+import co.com.crediya.model.solicitud.gateways.HistorialSolicitudesRepository;
+import co.com.crediya.model.solicitud.gateways.OutboxRepository;
+import co.com.crediya.model.solicitud.gateways.ResumenAprobadasRepository;
 import co.com.crediya.model.solicitud.gateways.SolicitudRepository;
 import co.com.crediya.model.solicitud.gateways.TipoPrestamoRepository;
-import co.com.crediya.model.usuario.Usuario;
-import co.com.crediya.model.usuario.gateways.UsuarioRepository;
+import co.com.crediya.usecase.solicitud.exceptions.TechnicalException;
 import co.com.crediya.usecase.solicitud.exceptions.ValidationException;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class SolicitudUseCase {
+  private static final int MAX_INTENTOS_CAMBIO_ESTADO = 3;
+  private static final int MAX_CAMBIOS_POR_LOTE = 500;
+  private static final int TAMANIO_LOTE_IMPORTACION = 200;
+  private static final Duration DURACION_INDEFINIDA = Duration.ofMillis(Long.MAX_VALUE);
+  private static final String FLUJO_CREAR = "crear_solicitud";
+  private static final String FLUJO_ACTUALIZAR = "actualizar_solicitud";
+
   private final SolicitudRepository solicitudRepository;
   private final TipoPrestamoRepository tipoPrestamoRepository;
   private final EstadoRepository estadoRepository;
-  private final NotificationGateway notificationGateway;
-  private final CapacidadEndeudamientoGateway capacidadEndeudamientoGateway;
-  private final UsuarioRepository usuarioRepository;
-  private final ReportsGateway reportsGateway;
+  private final ResumenAprobadasRepository resumenAprobadasRepository;
+  private final ReporteAprobadasUseCase reporteAprobadasUseCase;
+  private final OutboxRepository outboxRepository;
+  private final TransaccionGateway transaccionGateway;
+  private final HistorialSolicitudesRepository historialSolicitudesRepository;
+  private final MetricasGateway metricasGateway;
+
+  // El estado inicial no cambia en ejecución, se resuelve una vez y se reutiliza
+  private final Mono<Long> idEstadoPendienteRevision =
+      Mono.defer(this::consultarIdEstadoPendienteRevision)
+          .cache(id -> DURACION_INDEFINIDA, error -> Duration.ZERO, () -> Duration.ZERO);
+
+  public void iniciar() {
+    idEstadoPendienteRevision.onErrorResume(error -> Mono.empty()).subscribe();
+  }
 
   public Mono<Solicitud> crearSolicitud(
       String idUser, String email, BigDecimal monto, LocalDate plazo, Long idTipoPrestamo) {
-    return validarIdTipoPrestamo(idTipoPrestamo)
+    return metricasGateway
+        .medirEtapa(
+            FLUJO_CREAR,
+            "validacion",
+            MetricasGateway.SIN_TIPO_PRESTAMO,
+            validarIdTipoPrestamo(idTipoPrestamo)
+                .flatMap(this::obtenerTipoPrestamoExistente)
+                .flatMap(
+                    tipoPrestamo ->
+                        validarMontoParaTipoPrestamo(monto, tipoPrestamo).thenReturn(tipoPrestamo)))
         .flatMap(
-            validatedIdTipoPrestamo ->
-                validarTipoPrestamoExiste(validatedIdTipoPrestamo)
-                    .then(validarMontoParaTipoPrestamo(monto, validatedIdTipoPrestamo))
-                    .then(estadoRepository.obtenerIdEstadoPendienteRevision())
+            tipoPrestamo ->
+                idEstadoPendienteRevision
                     .map(
                         idEstadoPendiente ->
                             Solicitud.toSolicitud(
@@ -43,58 +87,459 @@ public class SolicitudUseCase {
                                 email,
                                 monto,
                                 plazo,
-                                validatedIdTipoPrestamo,
-                                idEstadoPendiente)))
-        .flatMap(solicitudRepository::crear)
-        .flatMap(solicitud -> procesarValidacionAutomatica(solicitud, idTipoPrestamo));
+                                tipoPrestamo.getIdTipoPrestamo(),
+                                idEstadoPendiente))
+                    .flatMap(
+                        solicitud ->
+                            metricasGateway.medirEtapa(
+                                FLUJO_CREAR,
+                                "insercion",
+                                tipoPrestamo.getNombre(),
+                                registrarSolicitud(solicitud, tipoPrestamo)))
+                    .flatMap(
+                        solicitud ->
+                            metricasGateway
+                                .medirEtapa(
+                                    FLUJO_CREAR,
+                                    "historial",
+                                    tipoPrestamo.getNombre(),
+                                    agregarAlHistorial(solicitud, tipoPrestamo))
+                                .thenReturn(solicitud)));
+  }
+
+  public Flux<ResultadoImportacion> importarSolicitudes(Flux<FilaImportacion> filas) {
+    // Las filas se insertan por bloques para mantener acotada la memoria de la petición
+    return idEstadoPendienteRevision.flatMapMany(
+        idEstadoPendiente ->
+            filas
+                .buffer(TAMANIO_LOTE_IMPORTACION)
+                .concatMap(lote -> importarLote(lote, idEstadoPendiente)));
   }
 
-  public Mono<PageResult<Solicitud>> obtenerSolicitudesPaginadas(int page, int size) {
+  public Mono<PageResult<SolicitudDetalle>> obtenerSolicitudesPaginadas(int page, int size) {
     return solicitudRepository.obtenerSolicitudes(page, size);
   }
 
-  public Mono<List<Solicitud>> obtenerSolicitudesPorIdUsuario(String idUsuario) {
-    return validarIdUsuario(idUsuario)
-        .flatMap(
-            validatedIdUsuario ->
-                solicitudRepository.obtenerSolicitudesPorIdUser(validatedIdUsuario));
+  public Mono<CursorPageResult<SolicitudDetalle>> obtenerSolicitudesPorCursor(
+      Long ultimoId, int size) {
+    return solicitudRepository.obtenerSolicitudesDesde(ultimoId, size);
+  }
+
+  public Flux<SolicitudDetalle> obtenerDetallesPorIdUsuario(String idUsuario) {
+    return validarIdUsuario(idUsuario).flatMapMany(solicitudRepository::obtenerDetallesPorIdUser);
   }
 
   public Mono<Solicitud> actualizarSolicitud(Long idSolicitud, Long nuevoIdEstado, Boolean send) {
-    return validarIdSolicitud(idSolicitud)
+    return metricasGateway
+        .medirEtapa(
+            FLUJO_ACTUALIZAR,
+            "validacion",
+            MetricasGateway.SIN_TIPO_PRESTAMO,
+            validarIdSolicitud(idSolicitud)
+                .then(validarIdEstado(nuevoIdEstado))
+                .flatMap(this::obtenerEstadoExistente))
         .flatMap(
-            validatedIdSolicitud ->
-                validarIdEstado(nuevoIdEstado)
+            estadoNuevo ->
+                medirActualizacion(
+                        "cambio_estado",
+                        cambiarEstado(idSolicitud, estadoNuevo, send, MAX_INTENTOS_CAMBIO_ESTADO))
+                    // Enviar reporte de solicitudes aprobadas después de actualizar
                     .flatMap(
-                        validatedIdEstado ->
-                            validarSolicitudExiste(validatedIdSolicitud)
-                                .then(validarEstadoExiste(validatedIdEstado))
-                                .then(solicitudRepository.findById(validatedIdSolicitud))
-                                .map(solicitud -> solicitud.cambiarEstado(validatedIdEstado))
-                                .flatMap(solicitudRepository::actualizar)
-                                .flatMap(
-                                    solicitudActualizada -> {
-                                      Mono<Solicitud> notificationMono;
-                                      if (Boolean.TRUE.equals(send)) {
-                                        notificationMono = estadoRepository
-                                            .findById(validatedIdEstado)
-                                            .flatMap(
-                                                estado ->
-                                                    notificationGateway
-                                                        .enviarNotificacionEstadoSolicitud(
-                                                            solicitudActualizada.getEmail(),
-                                                            estado.getNombre(),
-                                                            solicitudActualizada.getIdSolicitud()))
-                                            .then(Mono.just(solicitudActualizada));
-                                      } else {
-                                        notificationMono = Mono.just(solicitudActualizada);
-                                      }
-                                      
-                                      // Enviar reporte de solicitudes aprobadas después de actualizar
-                                      return notificationMono
-                                          .flatMap(solicitud -> enviarReporteSolicitudesAprobadas()
-                                              .then(Mono.just(solicitud)));
-                                    })));
+                        solicitudActualizada ->
+                            medirActualizacion(
+                                    "historial",
+                                    actualizarHistorial(solicitudActualizada, estadoNuevo))
+                                .then(
+                                    medirActualizacion(
+                                        "reporte",
+                                        Mono.defer(reporteAprobadasUseCase::solicitarReporte)))
+                                .thenReturn(solicitudActualizada)));
+  }
+
+  private <T> Mono<T> medirActualizacion(String etapa, Mono<T> operacion) {
+    return metricasGateway.medirEtapa(
+        FLUJO_ACTUALIZAR, etapa, MetricasGateway.SIN_TIPO_PRESTAMO, operacion);
+  }
+
+  public Mono<List<ResultadoCambioEstado>> actualizarSolicitudesEnLote(
+      List<CambioEstadoSolicitud> cambios, Boolean send) {
+    return validarLote(cambios)
+        .flatMapMany(Flux::fromIterable)
+        .map(CambioEstadoSolicitud::idEstado)
+        .filter(Objects::nonNull)
+        .distinct()
+        .flatMap(estadoRepository::findById)
+        .collectMap(Estado::getIdEstado)
+        .flatMap(
+            estados -> {
+              // Los resultados conservan el orden de la petición
+              ResultadoCambioEstado[] resultados = new ResultadoCambioEstado[cambios.size()];
+              List<CambioPendiente> pendientes = clasificarCambios(cambios, estados, resultados);
+              Mono<List<SolicitudCambiada>> cambiadas =
+                  pendientes.isEmpty()
+                      ? Mono.just(List.of())
+                      : transaccionGateway.ejecutar(
+                          aplicarCambiosEnLote(pendientes, send, resultados));
+              return cambiadas
+                  .flatMap(this::publicarCambiosEnLote)
+                  .then(Mono.fromCallable(() -> List.of(resultados)));
+            });
+  }
+
+  private Mono<List<CambioEstadoSolicitud>> validarLote(List<CambioEstadoSolicitud> cambios) {
+    if (cambios == null || cambios.isEmpty()) {
+      return Mono.error(new ValidationException("El lote de cambios de estado es obligatorio"));
+    }
+    if (cambios.size() > MAX_CAMBIOS_POR_LOTE) {
+      return Mono.error(
+          new ValidationException(
+              String.format(
+                  "El lote no puede superar %s cambios de estado", MAX_CAMBIOS_POR_LOTE)));
+    }
+    return Mono.just(cambios);
+  }
+
+  private List<CambioPendiente> clasificarCambios(
+      List<CambioEstadoSolicitud> cambios,
+      Map<Long, Estado> estados,
+      ResultadoCambioEstado[] resultados) {
+    List<CambioPendiente> pendientes = new ArrayList<>();
+    Set<Long> idsSolicitud = new HashSet<>();
+    for (int posicion = 0; posicion < cambios.size(); posicion++) {
+      CambioEstadoSolicitud cambio = cambios.get(posicion);
+      String error = validarCambio(cambio, estados, idsSolicitud);
+      if (error != null) {
+        resultados[posicion] = ResultadoCambioEstado.fallido(cambio, error);
+      } else {
+        pendientes.add(new CambioPendiente(posicion, cambio, estados.get(cambio.idEstado())));
+      }
+    }
+    return pendientes;
+  }
+
+  private String validarCambio(
+      CambioEstadoSolicitud cambio, Map<Long, Estado> estados, Set<Long> idsSolicitud) {
+    if (cambio.idSolicitud() == null) {
+      return "El ID de la solicitud es obligatorio";
+    }
+    if (cambio.idEstado() == null) {
+      return "El ID del estado es obligatorio";
+    }
+    if (!estados.containsKey(cambio.idEstado())) {
+      return String.format("No existe un estado con ID: %s", cambio.idEstado());
+    }
+    if (!idsSolicitud.add(cambio.idSolicitud())) {
+      return String.format("La solicitud %s está repetida en el lote", cambio.idSolicitud());
+    }
+    return null;
+  }
+
+  private Mono<List<SolicitudCambiada>> aplicarCambiosEnLote(
+      List<CambioPendiente> pendientes, Boolean send, ResultadoCambioEstado[] resultados) {
+    // Las filas se bloquean al leerlas, así no hace falta comparar el estado en cada UPDATE
+    return solicitudRepository
+        .bloquearPorIds(pendientes.stream().map(p -> p.cambio().idSolicitud()).toList())
+        .collectMap(Solicitud::getIdSolicitud)
+        .flatMap(
+            actuales -> {
+              List<SolicitudCambiada> cambiadas = new ArrayList<>();
+              for (CambioPendiente pendiente : pendientes) {
+                Solicitud actual = actuales.get(pendiente.cambio().idSolicitud());
+                if (actual == null) {
+                  resultados[pendiente.posicion()] =
+                      ResultadoCambioEstado.fallido(
+                          pendiente.cambio(),
+                          String.format(
+                              "No existe una solicitud con ID: %s",
+                              pendiente.cambio().idSolicitud()));
+                  continue;
+                }
+                resultados[pendiente.posicion()] =
+                    ResultadoCambioEstado.exitoso(pendiente.cambio());
+                if (!pendiente.estado().getIdEstado().equals(actual.getIdEstado())) {
+                  cambiadas.add(new SolicitudCambiada(actual, pendiente.estado()));
+                }
+              }
+              return actualizarEstadosAgrupados(cambiadas)
+                  .then(actualizarResumenAprobadasEnLote(cambiadas))
+                  .then(Mono.defer(() -> registrarNotificaciones(cambiadas, send)))
+                  .thenReturn(cambiadas);
+            });
+  }
+
+  private Mono<Void> actualizarEstadosAgrupados(List<SolicitudCambiada> cambiadas) {
+    // Un UPDATE por estado destino en lugar de uno por solicitud
+    Map<Long, List<Long>> idsPorEstado =
+        cambiadas.stream()
+            .collect(
+                Collectors.groupingBy(
+                    cambiada -> cambiada.estadoNuevo().getIdEstado(),
+                    LinkedHashMap::new,
+                    Collectors.mapping(
+                        cambiada -> cambiada.anterior().getIdSolicitud(), Collectors.toList())));
+    return Flux.fromIterable(idsPorEstado.entrySet())
+        .concatMap(
+            entrada ->
+                solicitudRepository.actualizarEstadoEnLote(entrada.getValue(), entrada.getKey()))
+        .then();
+  }
+
+  private Mono<Void> actualizarResumenAprobadasEnLote(List<SolicitudCambiada> cambiadas) {
+    return Flux.fromIterable(cambiadas)
+        .concatMap(
+            cambiada ->
+                estadoRepository
+                    .findById(cambiada.anterior().getIdEstado())
+                    .map(Estado::esAprobada)
+                    .defaultIfEmpty(false)
+                    .map(eraAprobada -> DeltaAprobadas.de(eraAprobada, cambiada)))
+        .reduce(DeltaAprobadas.NINGUNO, DeltaAprobadas::sumar)
+        .filter(delta -> !delta.esNulo())
+        // Un delta perdido se corrige con la reconciliación periódica del resumen
+        .flatMap(
+            delta ->
+                resumenAprobadasRepository
+                    .aplicarDelta(delta.solicitudes(), delta.monto())
+                    .onErrorResume(error -> Mono.empty()));
+  }
+
+  private Mono<Void> registrarNotificaciones(List<SolicitudCambiada> cambiadas, Boolean send) {
+    if (!Boolean.TRUE.equals(send)) {
+      return Mono.empty();
+    }
+    return outboxRepository.registrarTodos(
+        cambiadas.stream()
+            .map(
+                cambiada ->
+                    EventoOutbox.notificacionEstado(
+                        cambiada.anterior().getIdSolicitud(),
+                        cambiada.anterior().getEmail(),
+                        cambiada.estadoNuevo().getNombre()))
+            .toList());
+  }
+
+  private Mono<Void> publicarCambiosEnLote(List<SolicitudCambiada> cambiadas) {
+    if (cambiadas.isEmpty()) {
+      return Mono.empty();
+    }
+    // Un solo reporte para todo el lote
+    return Flux.fromIterable(cambiadas)
+        .concatMap(
+            cambiada ->
+                actualizarHistorial(
+                    cambiada.anterior().cambiarEstado(cambiada.estadoNuevo().getIdEstado()),
+                    cambiada.estadoNuevo()))
+        .then(Mono.defer(reporteAprobadasUseCase::solicitarReporte));
+  }
+
+  private Flux<ResultadoImportacion> importarLote(
+      List<FilaImportacion> lote, Long idEstadoPendiente) {
+    return Flux.fromIterable(lote)
+        .concatMap(fila -> evaluarFila(fila, idEstadoPendiente))
+        .collectList()
+        .flatMapMany(
+            evaluadas -> {
+              List<FilaEvaluada> validas =
+                  evaluadas.stream().filter(evaluada -> evaluada.error() == null).toList();
+              if (validas.isEmpty()) {
+                return Flux.fromIterable(evaluadas).map(FilaEvaluada::comoFallida);
+              }
+              return registrarLote(validas)
+                  .flatMapMany(
+                      creadas ->
+                          agregarLoteAlHistorial(creadas, validas)
+                              .thenMany(Flux.fromIterable(resultadosDeLote(evaluadas, creadas))))
+                  .onErrorResume(
+                      error ->
+                          Flux.fromIterable(evaluadas)
+                              .map(
+                                  evaluada ->
+                                      evaluada.error() != null
+                                          ? evaluada.comoFallida()
+                                          : ResultadoImportacion.fallida(
+                                              evaluada.fila(),
+                                              String.format(
+                                                  "No fue posible registrar la solicitud: %s",
+                                                  error.getMessage()))));
+            });
+  }
+
+  private Mono<FilaEvaluada> evaluarFila(FilaImportacion fila, Long idEstadoPendiente) {
+    if (fila.error() != null) {
+      return Mono.just(new FilaEvaluada(fila.fila(), null, null, fila.error()));
+    }
+    Solicitud solicitud = fila.solicitud();
+    // Tipos de préstamo y montos se validan contra el catálogo en caché
+    return obtenerTipoPrestamoExistente(solicitud.getIdTipoPrestamo())
+        .flatMap(
+            tipoPrestamo ->
+                validarMontoParaTipoPrestamo(solicitud.getMonto(), tipoPrestamo)
+                    .thenReturn(
+                        new FilaEvaluada(
+                            fila.fila(),
+                            solicitud.cambiarEstado(idEstadoPendiente),
+                            tipoPrestamo,
+                            null)))
+        .onErrorResume(
+            ValidationException.class,
+            error -> Mono.just(new FilaEvaluada(fila.fila(), null, null, error.getMessage())));
+  }
+
+  private Mono<List<Solicitud>> registrarLote(List<FilaEvaluada> validas) {
+    // Las solicitudes y sus eventos de validación de capacidad se confirman en bloque
+    return transaccionGateway.ejecutar(
+        solicitudRepository
+            .crearEnLote(validas.stream().map(FilaEvaluada::solicitud).toList())
+            .flatMap(
+                creadas ->
+                    outboxRepository
+                        .registrarTodos(eventosValidacionCapacidad(creadas, validas))
+                        .thenReturn(creadas)));
+  }
+
+  private List<EventoOutbox> eventosValidacionCapacidad(
+      List<Solicitud> creadas, List<FilaEvaluada> validas) {
+    List<EventoOutbox> eventos = new ArrayList<>();
+    for (int i = 0; i < creadas.size(); i++) {
+      if (validas.get(i).tipoPrestamo().isValidacionAutomatica()) {
+        eventos.add(EventoOutbox.validacionCapacidad(creadas.get(i).getIdSolicitud()));
+      }
+    }
+    return eventos;
+  }
+
+  private Mono<Void> agregarLoteAlHistorial(List<Solicitud> creadas, List<FilaEvaluada> validas) {
+    return Flux.range(0, creadas.size())
+        .concatMap(i -> agregarAlHistorial(creadas.get(i), validas.get(i).tipoPrestamo()))
+        .then();
+  }
+
+  private List<ResultadoImportacion> resultadosDeLote(
+      List<FilaEvaluada> evaluadas, List<Solicitud> creadas) {
+    // crearEnLote conserva el orden de entrada, así cada fila válida recibe su id
+    List<ResultadoImportacion> resultados = new ArrayList<>(evaluadas.size());
+    int siguiente = 0;
+    for (FilaEvaluada evaluada : evaluadas) {
+      resultados.add(
+          evaluada.error() != null
+              ? evaluada.comoFallida()
+              : ResultadoImportacion.creada(
+                  evaluada.fila(), creadas.get(siguiente++).getIdSolicitud()));
+    }
+    return resultados;
+  }
+
+  private Mono<Solicitud> registrarSolicitud(Solicitud solicitud, TipoPrestamo tipoPrestamo) {
+    // La solicitud y su evento de validación se confirman juntos; el envío lo hace el relay
+    return transaccionGateway.ejecutar(
+        solicitudRepository
+            .crear(solicitud)
+            .flatMap(
+                solicitudCreada -> {
+                  if (!tipoPrestamo.isValidacionAutomatica()) {
+                    return Mono.just(solicitudCreada);
+                  }
+                  return outboxRepository
+                      .registrar(EventoOutbox.validacionCapacidad(solicitudCreada.getIdSolicitud()))
+                      .thenReturn(solicitudCreada);
+                }));
+  }
+
+  private Mono<Void> agregarAlHistorial(Solicitud solicitud, TipoPrestamo tipoPrestamo) {
+    // El historial en caché se actualiza solo después de confirmar la transacción
+    return Mono.defer(() -> estadoRepository.findById(solicitud.getIdEstado()))
+        .flatMap(
+            estado ->
+                historialSolicitudesRepository.registrar(
+                    new SolicitudDetalle(
+                        solicitud,
+                        tipoPrestamo.getNombre(),
+                        tipoPrestamo.getTasaInteres(),
+                        estado.getNombre())))
+        .onErrorResume(error -> Mono.empty());
+  }
+
+  private Mono<Void> actualizarHistorial(Solicitud solicitud, Estado estadoNuevo) {
+    return Mono.defer(() -> historialSolicitudesRepository.actualizarEstado(solicitud, estadoNuevo))
+        .onErrorResume(error -> Mono.empty());
+  }
+
+  private Mono<Solicitud> cambiarEstado(
+      Long idSolicitud, Estado estadoNuevo, Boolean send, int intentosRestantes) {
+    // Cada intento usa su propia transacción para que la relectura vea el estado vigente
+    return transaccionGateway
+        .ejecutar(
+            solicitudRepository
+                .findById(idSolicitud)
+                .switchIfEmpty(
+                    Mono.error(
+                        new ValidationException(
+                            String.format("No existe una solicitud con ID: %s", idSolicitud))))
+                .flatMap(solicitud -> aplicarCambioEstado(solicitud, estadoNuevo))
+                .flatMap(
+                    solicitudActualizada ->
+                        registrarNotificacion(solicitudActualizada, estadoNuevo, send)
+                            .thenReturn(solicitudActualizada)))
+        .switchIfEmpty(
+            Mono.defer(
+                () -> reintentarCambioEstado(idSolicitud, estadoNuevo, send, intentosRestantes)));
+  }
+
+  private Mono<Solicitud> aplicarCambioEstado(Solicitud solicitud, Estado estadoNuevo) {
+    if (estadoNuevo.getIdEstado().equals(solicitud.getIdEstado())) {
+      return Mono.just(solicitud);
+    }
+    // La actualización solo aplica si el estado no cambió desde la lectura
+    return solicitudRepository
+        .actualizarEstado(solicitud, estadoNuevo.getIdEstado())
+        .flatMap(
+            solicitudActualizada ->
+                estadoRepository
+                    .findById(solicitud.getIdEstado())
+                    .map(Estado::esAprobada)
+                    .defaultIfEmpty(false)
+                    .flatMap(
+                        eraAprobada ->
+                            actualizarResumenAprobadas(
+                                eraAprobada, estadoNuevo.esAprobada(), solicitud.getMonto()))
+                    .thenReturn(solicitudActualizada));
+  }
+
+  private Mono<Solicitud> reintentarCambioEstado(
+      Long idSolicitud, Estado estadoNuevo, Boolean send, int intentosRestantes) {
+    if (intentosRestantes <= 1) {
+      return Mono.error(
+          new TechnicalException(
+              String.format(
+                  "No fue posible actualizar el estado de la solicitud %s por modificaciones concurrentes",
+                  idSolicitud)));
+    }
+    return cambiarEstado(idSolicitud, estadoNuevo, send, intentosRestantes - 1);
+  }
+
+  private Mono<Void> registrarNotificacion(
+      Solicitud solicitudActualizada, Estado estadoNuevo, Boolean send) {
+    if (!Boolean.TRUE.equals(send)) {
+      return Mono.empty();
+    }
+    return outboxRepository.registrar(
+        EventoOutbox.notificacionEstado(
+            solicitudActualizada.getIdSolicitud(),
+            solicitudActualizada.getEmail(),
+            estadoNuevo.getNombre()));
+  }
+
+  private Mono<Void> actualizarResumenAprobadas(
+      boolean eraAprobada, boolean esAprobada, BigDecimal monto) {
+    if (eraAprobada == esAprobada) {
+      return Mono.empty();
+    }
+    long deltaSolicitudes = esAprobada ? 1 : -1;
+    BigDecimal deltaMonto = esAprobada ? monto : monto.negate();
+    // Un delta perdido se corrige con la reconciliación periódica del resumen
+    return resumenAprobadasRepository
+        .aplicarDelta(deltaSolicitudes, deltaMonto)
+        .onErrorResume(error -> Mono.empty());
   }
 
   private Mono<Long> validarIdTipoPrestamo(Long idTipoPrestamo) {
@@ -104,38 +549,31 @@ public class SolicitudUseCase {
     return Mono.just(idTipoPrestamo);
   }
 
-  private Mono<Void> validarTipoPrestamoExiste(Long idTipoPrestamo) {
+  private Mono<Long> consultarIdEstadoPendienteRevision() {
+    return estadoRepository.obtenerIdEstadoPendienteRevision();
+  }
+
+  private Mono<TipoPrestamo> obtenerTipoPrestamoExistente(Long idTipoPrestamo) {
     return tipoPrestamoRepository
-        .existeById(idTipoPrestamo)
-        .flatMap(
-            existe -> {
-              if (Boolean.FALSE.equals(existe)) {
-                return Mono.error(
-                    new ValidationException(
-                        String.format("No existe un tipo de préstamo con ID: %s", idTipoPrestamo)));
-              }
-              return Mono.empty();
-            });
+        .findById(idTipoPrestamo)
+        .switchIfEmpty(
+            Mono.error(
+                new ValidationException(
+                    String.format("No existe un tipo de préstamo con ID: %s", idTipoPrestamo))));
   }
 
-  private Mono<Void> validarMontoParaTipoPrestamo(BigDecimal monto, Long idTipoPrestamo) {
+  private Mono<Void> validarMontoParaTipoPrestamo(BigDecimal monto, TipoPrestamo tipoPrestamo) {
     if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
       return Mono.error(new ValidationException("El monto debe ser mayor a cero"));
     }
-
-    return tipoPrestamoRepository
-        .findById(idTipoPrestamo)
-        .flatMap(
-            tipoPrestamo -> {
-              if (!tipoPrestamo.validarMonto(monto)) {
-                return Mono.error(
-                    new ValidationException(
-                        String.format(
-                            "El monto %s no es válido para el tipo de préstamo. Debe estar entre %s y %s",
-                            monto, tipoPrestamo.getMontoMinimo(), tipoPrestamo.getMontoMaximo())));
-              }
-              return Mono.empty();
-            });
+    if (!tipoPrestamo.validarMonto(monto)) {
+      return Mono.error(
+          new ValidationException(
+              String.format(
+                  "El monto %s no es válido para el tipo de préstamo. Debe estar entre %s y %s",
+                  monto, tipoPrestamo.getMontoMinimo(), tipoPrestamo.getMontoMaximo())));
+    }
+    return Mono.empty();
   }
 
   private Mono<Long> validarIdSolicitud(Long idSolicitud) {
@@ -145,20 +583,6 @@ public class SolicitudUseCase {
     return Mono.just(idSolicitud);
   }
 
-  private Mono<Void> validarSolicitudExiste(Long idSolicitud) {
-    return solicitudRepository
-        .existeById(idSolicitud)
-        .flatMap(
-            existe -> {
-              if (Boolean.FALSE.equals(existe)) {
-                return Mono.error(
-                    new ValidationException(
-                        String.format("No existe una solicitud con ID: %s", idSolicitud)));
-              }
-              return Mono.empty();
-            });
-  }
-
   private Mono<Long> validarIdEstado(Long idEstado) {
     if (idEstado == null) {
       return Mono.error(new ValidationException("El ID del estado es obligatorio"));
@@ -166,13 +590,12 @@ public class SolicitudUseCase {
     return Mono.just(idEstado);
   }
 
-  private Mono<Void> validarEstadoExiste(Long idEstado) {
+  private Mono<Estado> obtenerEstadoExistente(Long idEstado) {
     return estadoRepository
         .findById(idEstado)
         .switchIfEmpty(
             Mono.error(
-                new ValidationException(String.format("No existe un estado con ID: %s", idEstado))))
-        .then();
+                new ValidationException(String.format("No existe un estado con ID: %s", idEstado))));
   }
 
   private Mono<String> validarIdUsuario(String idUsuario) {
@@ -182,48 +605,36 @@ public class SolicitudUseCase {
     return Mono.just(idUsuario);
   }
 
-  private Mono<Solicitud> procesarValidacionAutomatica(Solicitud solicitud, Long idTipoPrestamo) {
-    return tipoPrestamoRepository
-        .findById(idTipoPrestamo)
-        .flatMap(
-            tipoPrestamo -> {
-              if (tipoPrestamo.isValidacionAutomatica()) {
-                return usuarioRepository
-                    .obtenerUsuarioPorId(Long.valueOf(solicitud.getIdUser()))
-                    .flatMap(
-                        usuario ->
-                            solicitudRepository
-                                .obtenerSolicitudesPorIdUser(solicitud.getIdUser())
-                                .flatMap(
-                                    solicitudes ->
-                                        capacidadEndeudamientoGateway
-                                            .enviarSolicitudCapacidadEndeudamiento(
-                                                usuario,
-                                                solicitud,
-                                                solicitudes,
-                                                solicitud.getIdSolicitud())
-                                            .then(Mono.just(solicitud))))
-                    .defaultIfEmpty(solicitud);
-              } else {
-                return Mono.just(solicitud);
-              }
-            })
-        .defaultIfEmpty(solicitud);
-  }
-
-  private Mono<Void> enviarReporteSolicitudesAprobadas() {
-    return Mono.zip(
-            solicitudRepository.contarSolicitudesAprobadas(),
-            solicitudRepository.sumarMontoSolicitudesAprobadas())
-        .flatMap(tuple -> {
-          Long totalSolicitudesAprobadas = tuple.getT1();
-          BigDecimal montoTotalAprobado = tuple.getT2();
-          return reportsGateway.enviarReporteSolicitudesAprobadas(totalSolicitudesAprobadas, montoTotalAprobado);
-        })
-        .then()
-        .onErrorResume(error -> {
-          // Log error but don't fail the main operation
-          return Mono.empty();
-        });
+  private record FilaEvaluada(
+      long fila, Solicitud solicitud, TipoPrestamo tipoPrestamo, String error) {
+
+    private ResultadoImportacion comoFallida() {
+      return ResultadoImportacion.fallida(fila, error);
+    }
+  }
+
+  private record CambioPendiente(int posicion, CambioEstadoSolicitud cambio, Estado estado) {}
+
+  private record SolicitudCambiada(Solicitud anterior, Estado estadoNuevo) {}
+
+  private record DeltaAprobadas(long solicitudes, BigDecimal monto) {
+    private static final DeltaAprobadas NINGUNO = new DeltaAprobadas(0, BigDecimal.ZERO);
+
+    private static DeltaAprobadas de(boolean eraAprobada, SolicitudCambiada cambiada) {
+      boolean esAprobada = cambiada.estadoNuevo().esAprobada();
+      if (eraAprobada == esAprobada) {
+        return NINGUNO;
+      }
+      BigDecimal monto = cambiada.anterior().getMonto();
+      return esAprobada ? new DeltaAprobadas(1, monto) : new DeltaAprobadas(-1, monto.negate());
+    }
+
+    private DeltaAprobadas sumar(DeltaAprobadas otro) {
+      return new DeltaAprobadas(solicitudes + otro.solicitudes, monto.add(otro.monto));
+    }
+
+    private boolean esNulo() {
+      return solicitudes == 0 && monto.signum() == 0;
+    }
   }
 }
@@ -0,0 +1,214 @@
+package co.com.crediya.usecase.solicitud;
+
+import co.com.crediya.model.common.gateways.MetricasGateway;
+import co.com.crediya.model.solicitud.EventoOutbox;
+import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import co.com.crediya.model.solicitud.TipoEventoOutbox;
+import co.com.crediya.model.solicitud.gateways.CapacidadEndeudamientoGateway;
+import co.com.crediya.model.solicitud.gateways.HistorialSolicitudesRepository;
+import co.com.crediya.model.solicitud.gateways.NotificationGateway;
+import co.com.crediya.model.solicitud.gateways.OutboxRepository;
+import co.com.crediya.model.solicitud.gateways.SolicitudRepository;
+import co.com.crediya.model.usuario.Usuario;
+import co.com.crediya.model.usuario.gateways.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayUseCaseTest {
+
+  @Mock private OutboxRepository outboxRepository;
+
+  @Mock private SolicitudRepository solicitudRepository;
+
+  @Mock private HistorialSolicitudesRepository historialSolicitudesRepository;
+
+  @Mock private UsuarioRepository usuarioRepository;
+
+  @Mock private NotificationGateway notificationGateway;
+
+  @Mock private CapacidadEndeudamientoGateway capacidadEndeudamientoGateway;
+
+  @Mock private MetricasGateway metricasGateway;
+
+  private OutboxRelayUseCase outboxRelayUseCase;
+
+  @BeforeEach
+  void setUp() {
+    outboxRelayUseCase =
+        new OutboxRelayUseCase(
+            outboxRepository,
+            solicitudRepository,
+            historialSolicitudesRepository,
+            usuarioRepository,
+            notificationGateway,
+            capacidadEndeudamientoGateway,
+            metricasGateway,
+            new OutboxRelayUseCase.Configuracion(
+                Duration.ofSeconds(1),
+                10,
+                5,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(5),
+                Duration.ofMinutes(1)));
+    lenient()
+        .when(metricasGateway.medirEtapa(any(), any(), any(), any()))
+        .thenAnswer(inv -> inv.getArgument(3));
+  }
+
+  @Test
+  @DisplayName("Debería despachar los eventos reclamados y marcarlos como enviados")
+  void deberiaDespacharEventosYMarcarlosComoEnviados() {
+    // Arrange
+    Solicitud solicitud =
+        Solicitud.fromDatabase(6L, "10", "mail@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 1L);
+    List<SolicitudDetalle> historial =
+        List.of(new SolicitudDetalle(solicitud, "Libre inversión", BigDecimal.ONE, "Pendiente"));
+    Usuario usuario = mock(Usuario.class);
+    EventoOutbox notificacion =
+        new EventoOutbox(
+            1L, TipoEventoOutbox.NOTIFICACION_ESTADO, 5L, "mail@test.com", "Aprobada", 0);
+    EventoOutbox validacion =
+        new EventoOutbox(2L, TipoEventoOutbox.VALIDACION_CAPACIDAD, 6L, null, null, 0);
+    when(outboxRepository.reclamarPendientes(anyInt(), any(), anyInt()))
+        .thenReturn(Flux.just(notificacion, validacion));
+    when(notificationGateway.enviarNotificacionEstadoSolicitud("mail@test.com", "Aprobada", 5L))
+        .thenReturn(Mono.just("id-1"));
+    when(solicitudRepository.findById(6L)).thenReturn(Mono.just(solicitud));
+    when(usuarioRepository.obtenerUsuarioPorId(10L)).thenReturn(Mono.just(usuario));
+    when(historialSolicitudesRepository.obtenerPorIdUser("10")).thenReturn(Mono.just(historial));
+    when(capacidadEndeudamientoGateway.enviarSolicitudCapacidadEndeudamiento(
+            usuario, solicitud, historial, 6L))
+        .thenReturn(Mono.just("id-2"));
+    when(outboxRepository.marcarEnviados(any())).thenReturn(Mono.empty());
+
+    // Act
+    StepVerifier.create(outboxRelayUseCase.drenar()).verifyComplete();
+
+    // Assert
+    verify(outboxRepository)
+        .marcarEnviados(argThat(ids -> ids.containsAll(List.of(1L, 2L))));
+    verify(outboxRepository, never()).registrarFallo(any(), any(), anyBoolean());
+    verify(historialSolicitudesRepository, never()).recargar(any());
+  }
+
+  @Test
+  @DisplayName("Debería recargar el historial cuando la caché no incluye la solicitud evaluada")
+  void deberiaRecargarHistorialCuandoNoIncluyeLaSolicitud() {
+    // Arrange
+    Solicitud solicitud =
+        Solicitud.fromDatabase(6L, "10", "mail@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 1L);
+    List<SolicitudDetalle> historial =
+        List.of(new SolicitudDetalle(solicitud, "Libre inversión", BigDecimal.ONE, "Pendiente"));
+    Usuario usuario = mock(Usuario.class);
+    EventoOutbox validacion =
+        new EventoOutbox(2L, TipoEventoOutbox.VALIDACION_CAPACIDAD, 6L, null, null, 0);
+    when(outboxRepository.reclamarPendientes(anyInt(), any(), anyInt()))
+        .thenReturn(Flux.just(validacion));
+    when(solicitudRepository.findById(6L)).thenReturn(Mono.just(solicitud));
+    when(usuarioRepository.obtenerUsuarioPorId(10L)).thenReturn(Mono.just(usuario));
+    when(historialSolicitudesRepository.obtenerPorIdUser("10")).thenReturn(Mono.just(List.of()));
+    when(historialSolicitudesRepository.recargar("10")).thenReturn(Mono.just(historial));
+    when(capacidadEndeudamientoGateway.enviarSolicitudCapacidadEndeudamiento(
+            usuario, solicitud, historial, 6L))
+        .thenReturn(Mono.just("id-2"));
+    when(outboxRepository.marcarEnviados(any())).thenReturn(Mono.empty());
+
+    // Act
+    StepVerifier.create(outboxRelayUseCase.drenar()).verifyComplete();
+
+    // Assert
+    verify(historialSolicitudesRepository).recargar("10");
+    verify(outboxRepository).marcarEnviados(List.of(2L));
+  }
+
+  @Test
+  @DisplayName("Debería registrar el fallo y no marcar como enviado un evento que falla")
+  void deberiaRegistrarFalloSinMarcarEventoComoEnviado() {
+    // Arrange
+    EventoOutbox notificacion =
+        new EventoOutbox(
+            1L, TipoEventoOutbox.NOTIFICACION_ESTADO, 5L, "mail@test.com", "Aprobada", 0);
+    when(outboxRepository.reclamarPendientes(anyInt(), any(), anyInt()))
+        .thenReturn(Flux.just(notificacion));
+    when(notificationGateway.enviarNotificacionEstadoSolicitud("mail@test.com", "Aprobada", 5L))
+        .thenReturn(Mono.error(new IllegalStateException("SQS no disponible")));
+    when(outboxRepository.registrarFallo(notificacion, Duration.ofSeconds(5), false))
+        .thenReturn(Mono.empty());
+    when(outboxRepository.marcarEnviados(List.of())).thenReturn(Mono.empty());
+
+    // Act
+    StepVerifier.create(outboxRelayUseCase.drenar()).verifyComplete();
+
+    // Assert
+    verify(outboxRepository).registrarFallo(notificacion, Duration.ofSeconds(5), false);
+    verify(outboxRepository).marcarEnviados(List.of());
+  }
+
+  @Test
+  @DisplayName("Debería registrar como fallo la validación cuando el usuario no se obtiene")
+  void deberiaRegistrarFalloCuandoUsuarioNoSeObtiene() {
+    // Arrange
+    Solicitud solicitud =
+        Solicitud.fromDatabase(6L, "10", "mail@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 1L);
+    EventoOutbox validacion =
+        new EventoOutbox(2L, TipoEventoOutbox.VALIDACION_CAPACIDAD, 6L, null, null, 2);
+    when(outboxRepository.reclamarPendientes(anyInt(), any(), anyInt()))
+        .thenReturn(Flux.just(validacion));
+    when(solicitudRepository.findById(6L)).thenReturn(Mono.just(solicitud));
+    when(usuarioRepository.obtenerUsuarioPorId(10L)).thenReturn(Mono.empty());
+    when(outboxRepository.registrarFallo(any(), any(), anyBoolean())).thenReturn(Mono.empty());
+    when(outboxRepository.marcarEnviados(List.of())).thenReturn(Mono.empty());
+
+    // Act
+    StepVerifier.create(outboxRelayUseCase.drenar()).verifyComplete();
+
+    // Assert
+    verify(outboxRepository).registrarFallo(validacion, Duration.ofSeconds(20), false);
+    verify(outboxRepository).marcarEnviados(List.of());
+    verify(capacidadEndeudamientoGateway, never())
+        .enviarSolicitudCapacidadEndeudamiento(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Debería marcar como agotado el evento en su último intento con espera acotada")
+  void deberiaMarcarAgotadoEnUltimoIntento() {
+    // Arrange
+    EventoOutbox validacion =
+        new EventoOutbox(2L, TipoEventoOutbox.VALIDACION_CAPACIDAD, 6L, null, null, 4);
+    when(outboxRepository.reclamarPendientes(anyInt(), any(), anyInt()))
+        .thenReturn(Flux.just(validacion));
+    when(solicitudRepository.findById(6L)).thenReturn(Mono.empty());
+    when(outboxRepository.registrarFallo(any(), any(), anyBoolean())).thenReturn(Mono.empty());
+    when(outboxRepository.marcarEnviados(List.of())).thenReturn(Mono.empty());
+
+    // Act
+    StepVerifier.create(outboxRelayUseCase.drenar()).verifyComplete();
+
+    // Assert
+    verify(outboxRepository).registrarFallo(validacion, Duration.ofMinutes(1), true);
+  }
+}
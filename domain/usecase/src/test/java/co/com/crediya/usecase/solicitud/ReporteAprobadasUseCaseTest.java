@@ -0,0 +1,144 @@
+package co.com.crediya.usecase.solicitud;
+
+import co.com.crediya.model.solicitud.ResumenAprobadas;
+import co.com.crediya.model.solicitud.gateways.ReportsGateway;
+import co.com.crediya.model.solicitud.gateways.ResumenAprobadasRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReporteAprobadasUseCaseTest {
+
+  @Mock private ResumenAprobadasRepository resumenAprobadasRepository;
+
+  @Mock private ReportsGateway reportsGateway;
+
+  @Test
+  @DisplayName("Debería enviar el reporte inmediatamente cuando la ventana es cero")
+  void deberiaEnviarReporteInmediatamenteCuandoVentanaEsCero() {
+    // Arrange
+    ReporteAprobadasUseCase useCase =
+        new ReporteAprobadasUseCase(resumenAprobadasRepository, reportsGateway, Duration.ZERO);
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.just(new ResumenAprobadas(3L, BigDecimal.TEN)));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN))
+        .thenReturn(Mono.just("ok"));
+
+    // Act & Assert
+    StepVerifier.create(useCase.solicitarReporte()).verifyComplete();
+    verify(reportsGateway).enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN);
+  }
+
+  @Test
+  @DisplayName("Debería agrupar varias solicitudes de la misma ventana en un solo envío")
+  void deberiaAgruparSolicitudesDeLaMismaVentanaEnUnSoloEnvio() {
+    // Arrange
+    ReporteAprobadasUseCase useCase =
+        new ReporteAprobadasUseCase(
+            resumenAprobadasRepository, reportsGateway, Duration.ofSeconds(5));
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.just(new ResumenAprobadas(3L, BigDecimal.TEN)));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN))
+        .thenReturn(Mono.just("ok"));
+
+    // Act
+    StepVerifier.create(useCase.solicitarReporte()).verifyComplete();
+    StepVerifier.create(useCase.solicitarReporte()).verifyComplete();
+    StepVerifier.create(useCase.solicitarReporte()).verifyComplete();
+    verify(reportsGateway, never()).enviarReporteSolicitudesAprobadas(any(), any());
+
+    StepVerifier.create(useCase.emitirPendiente()).verifyComplete();
+    StepVerifier.create(useCase.emitirPendiente()).verifyComplete();
+
+    // Assert
+    verify(resumenAprobadasRepository, times(1)).obtener();
+    verify(reportsGateway, times(1)).enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN);
+  }
+
+  @Test
+  @DisplayName("No debería fallar cuando el envío del reporte falla")
+  void noDeberiaFallarCuandoEnvioDelReporteFalla() {
+    // Arrange
+    ReporteAprobadasUseCase useCase =
+        new ReporteAprobadasUseCase(resumenAprobadasRepository, reportsGateway, Duration.ZERO);
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.error(new RuntimeException("Error de base de datos")));
+
+    // Act & Assert
+    StepVerifier.create(useCase.solicitarReporte()).verifyComplete();
+    verify(reportsGateway, never()).enviarReporteSolicitudesAprobadas(any(), any());
+  }
+
+  @Test
+  @DisplayName("Debería conservar el reporte pendiente cuando el envío falla")
+  void deberiaConservarReportePendienteCuandoEnvioFalla() {
+    // Arrange
+    ReporteAprobadasUseCase useCase =
+        new ReporteAprobadasUseCase(
+            resumenAprobadasRepository, reportsGateway, Duration.ofSeconds(5));
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.just(new ResumenAprobadas(3L, BigDecimal.TEN)));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN))
+        .thenReturn(Mono.error(new RuntimeException("SQS no disponible")), Mono.just("ok"));
+    StepVerifier.create(useCase.solicitarReporte()).verifyComplete();
+
+    // Act
+    StepVerifier.create(useCase.emitirPendiente()).verifyComplete();
+    StepVerifier.create(useCase.emitirPendiente()).verifyComplete();
+    StepVerifier.create(useCase.emitirPendiente()).verifyComplete();
+
+    // Assert
+    verify(reportsGateway, times(2)).enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN);
+  }
+
+  @Test
+  @DisplayName("Debería enviar el reporte pendiente al detenerse")
+  void deberiaEnviarReportePendienteAlDetenerse() {
+    // Arrange
+    ReporteAprobadasUseCase useCase =
+        new ReporteAprobadasUseCase(
+            resumenAprobadasRepository, reportsGateway, Duration.ofMinutes(5));
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.just(new ResumenAprobadas(3L, BigDecimal.TEN)));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN))
+        .thenReturn(Mono.just("ok"));
+    useCase.iniciar();
+    StepVerifier.create(useCase.solicitarReporte()).verifyComplete();
+
+    // Act
+    useCase.detener();
+
+    // Assert
+    verify(reportsGateway, times(1)).enviarReporteSolicitudesAprobadas(3L, BigDecimal.TEN);
+  }
+
+  @Test
+  @DisplayName("No debería enviar nada al detenerse si no hay reporte pendiente")
+  void noDeberiaEnviarReporteAlDetenerseSinPendiente() {
+    // Arrange
+    ReporteAprobadasUseCase useCase =
+        new ReporteAprobadasUseCase(
+            resumenAprobadasRepository, reportsGateway, Duration.ofMinutes(5));
+    useCase.iniciar();
+
+    // Act
+    useCase.detener();
+
+    // Assert
+    verify(resumenAprobadasRepository, never()).obtener();
+  }
+}
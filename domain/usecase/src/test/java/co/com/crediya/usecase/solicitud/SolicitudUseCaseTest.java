@@ -1,14 +1,26 @@
 package co.com.crediya.usecase.solicitud;
 
+import co.com.crediya.model.common.CursorPageResult;
 import co.com.crediya.model.common.PageResult;
+import co.com.crediya.model.common.gateways.MetricasGateway;
+import co.com.crediya.model.common.gateways.TransaccionGateway;
+import co.com.crediya.model.solicitud.CambioEstadoSolicitud;
+import co.com.crediya.model.solicitud.Estado;
+import co.com.crediya.model.solicitud.FilaImportacion;
+import co.com.crediya.model.solicitud.EventoOutbox;
+import co.com.crediya.model.solicitud.ResumenAprobadas;
+import co.com.crediya.model.solicitud.ResultadoCambioEstado;
+import co.com.crediya.model.solicitud.ResultadoImportacion;
 import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
 import co.com.crediya.model.solicitud.TipoPrestamo;
-import co.com.crediya.model.solicitud.gateways.CapacidadEndeudamientoGateway;
 import co.com.crediya.model.solicitud.gateways.EstadoRepository;
-import co.com.crediya.model.solicitud.gateways.NotificationGateway;
+import co.com.crediya.model.solicitud.gateways.HistorialSolicitudesRepository;
+import co.com.crediya.model.solicitud.gateways.OutboxRepository;
+import co.com.crediya.model.solicitud.gateways.ReportsGateway;
+import co.com.crediya.model.solicitud.gateways.ResumenAprobadasRepository;
 import co.com.crediya.model.solicitud.gateways.SolicitudRepository;
 import co.com.crediya.model.solicitud.gateways.TipoPrestamoRepository;
-import co.com.crediya.model.usuario.gateways.UsuarioRepository;
 import co.com.crediya.usecase.solicitud.exceptions.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,15 +30,24 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,11 +60,17 @@ class SolicitudUseCaseTest {
 
   @Mock private EstadoRepository estadoRepository;
 
-  @Mock private NotificationGateway notificationGateway;
+  @Mock private OutboxRepository outboxRepository;
 
-  @Mock private CapacidadEndeudamientoGateway capacidadEndeudamientoGateway;
+  @Mock private TransaccionGateway transaccionGateway;
 
-  @Mock private UsuarioRepository usuarioRepository;
+  @Mock private HistorialSolicitudesRepository historialSolicitudesRepository;
+
+  @Mock private MetricasGateway metricasGateway;
+
+  @Mock private ReportsGateway reportsGateway;
+
+  @Mock private ResumenAprobadasRepository resumenAprobadasRepository;
 
   private SolicitudUseCase solicitudUseCase;
 
@@ -54,9 +81,21 @@ class SolicitudUseCaseTest {
             solicitudRepository,
             tipoPrestamoRepository,
             estadoRepository,
-            notificationGateway,
-            capacidadEndeudamientoGateway,
-            usuarioRepository);
+            resumenAprobadasRepository,
+            new ReporteAprobadasUseCase(resumenAprobadasRepository, reportsGateway, Duration.ZERO),
+            outboxRepository,
+            transaccionGateway,
+            historialSolicitudesRepository,
+            metricasGateway);
+    lenient().when(transaccionGateway.ejecutar(any())).thenAnswer(inv -> inv.getArgument(0));
+    lenient()
+        .when(metricasGateway.medirEtapa(any(), any(), any(), any()))
+        .thenAnswer(inv -> inv.getArgument(3));
+    lenient().when(outboxRepository.registrar(any())).thenReturn(Mono.empty());
+    lenient().when(historialSolicitudesRepository.registrar(any())).thenReturn(Mono.empty());
+    lenient()
+        .when(historialSolicitudesRepository.actualizarEstado(any(), any()))
+        .thenReturn(Mono.empty());
   }
 
   @Test
@@ -83,16 +122,10 @@ class SolicitudUseCaseTest {
         Solicitud.toSolicitud(
             idUser, email, monto, plazo, idTipoPrestamo, idEstadoPendiente);
 
-    when(tipoPrestamoRepository.existeById(idTipoPrestamo)).thenReturn(Mono.just(true));
     when(tipoPrestamoRepository.findById(idTipoPrestamo)).thenReturn(Mono.just(tipoPrestamo));
     when(estadoRepository.obtenerIdEstadoPendienteRevision())
         .thenReturn(Mono.just(idEstadoPendiente));
     when(solicitudRepository.crear(any(Solicitud.class))).thenReturn(Mono.just(solicitudEsperada));
-    
-    // Mock for automatic validation process since validacionAutomatica = true
-    when(usuarioRepository.obtenerUsuarioPorId(any(Long.class))).thenReturn(Mono.empty());
-    when(solicitudRepository.obtenerSolicitudesPorIdUser(any(String.class))).thenReturn(Mono.just(List.of()));
-    when(capacidadEndeudamientoGateway.enviarSolicitudCapacidadEndeudamiento(any(), any(), any(), any())).thenReturn(Mono.empty());
 
     // Act
     Mono<Solicitud> resultado =
@@ -100,6 +133,9 @@ class SolicitudUseCaseTest {
 
     // Assert
     StepVerifier.create(resultado).expectNext(solicitudEsperada).verifyComplete();
+    verify(outboxRepository)
+        .registrar(EventoOutbox.validacionCapacidad(solicitudEsperada.getIdSolicitud()));
+    verify(transaccionGateway).ejecutar(any());
   }
 
 
@@ -148,16 +184,10 @@ class SolicitudUseCaseTest {
 
     Solicitud solicitudEsperada = Solicitud.toSolicitud(idUser, email, monto, plazo, idTipoPrestamo, idEstadoPendiente);
 
-    when(tipoPrestamoRepository.existeById(idTipoPrestamo)).thenReturn(Mono.just(true));
     when(tipoPrestamoRepository.findById(idTipoPrestamo)).thenReturn(Mono.just(tipoPrestamo));
     when(estadoRepository.obtenerIdEstadoPendienteRevision())
         .thenReturn(Mono.just(idEstadoPendiente));
     when(solicitudRepository.crear(any(Solicitud.class))).thenReturn(Mono.just(solicitudEsperada));
-    
-    // Mock for automatic validation process since validacionAutomatica = true
-    when(usuarioRepository.obtenerUsuarioPorId(any(Long.class))).thenReturn(Mono.empty());
-    when(solicitudRepository.obtenerSolicitudesPorIdUser(any(String.class))).thenReturn(Mono.just(List.of()));
-    when(capacidadEndeudamientoGateway.enviarSolicitudCapacidadEndeudamiento(any(), any(), any(), any())).thenReturn(Mono.empty());
 
     // Act
     Mono<Solicitud> resultado =
@@ -189,16 +219,10 @@ class SolicitudUseCaseTest {
 
     Solicitud solicitudEsperada = Solicitud.toSolicitud(idUser, email, monto, plazo, idTipoPrestamo, idEstadoPendiente);
 
-    when(tipoPrestamoRepository.existeById(idTipoPrestamo)).thenReturn(Mono.just(true));
     when(tipoPrestamoRepository.findById(idTipoPrestamo)).thenReturn(Mono.just(tipoPrestamo));
     when(estadoRepository.obtenerIdEstadoPendienteRevision())
         .thenReturn(Mono.just(idEstadoPendiente));
     when(solicitudRepository.crear(any(Solicitud.class))).thenReturn(Mono.just(solicitudEsperada));
-    
-    // Mock for automatic validation process since validacionAutomatica = true
-    when(usuarioRepository.obtenerUsuarioPorId(any(Long.class))).thenReturn(Mono.empty());
-    when(solicitudRepository.obtenerSolicitudesPorIdUser(any(String.class))).thenReturn(Mono.just(List.of()));
-    when(capacidadEndeudamientoGateway.enviarSolicitudCapacidadEndeudamiento(any(), any(), any(), any())).thenReturn(Mono.empty());
 
     // Act
     Mono<Solicitud> resultado =
@@ -232,13 +256,10 @@ class SolicitudUseCaseTest {
         Solicitud.toSolicitud(
             idUser, email, monto, plazo, idTipoPrestamo, idEstadoPendiente);
 
-    when(tipoPrestamoRepository.existeById(idTipoPrestamo)).thenReturn(Mono.just(true));
     when(tipoPrestamoRepository.findById(idTipoPrestamo)).thenReturn(Mono.just(tipoPrestamo));
     when(estadoRepository.obtenerIdEstadoPendienteRevision())
         .thenReturn(Mono.just(idEstadoPendiente));
     when(solicitudRepository.crear(any(Solicitud.class))).thenReturn(Mono.just(solicitudEsperada));
-    
-    // Since validacionAutomatica = false, no additional mocks needed for automatic validation
 
     // Act
     Mono<Solicitud> resultado =
@@ -246,6 +267,62 @@ class SolicitudUseCaseTest {
 
     // Assert
     StepVerifier.create(resultado).expectNext(solicitudEsperada).verifyComplete();
+    verify(outboxRepository, never()).registrar(any());
+  }
+
+  @Test
+  @DisplayName("Debería lanzar ValidationException cuando el tipo de préstamo no existe")
+  void deberiaLanzarValidationExceptionCuandoTipoPrestamoNoExiste() {
+    // Arrange
+    when(tipoPrestamoRepository.findById(9L)).thenReturn(Mono.empty());
+
+    // Act
+    Mono<Solicitud> resultado =
+        solicitudUseCase.crearSolicitud(
+            "12345678", "test@example.com", BigDecimal.TEN, LocalDate.now(), 9L);
+
+    // Assert
+    StepVerifier.create(resultado)
+        .expectErrorMatches(
+            throwable ->
+                throwable instanceof ValidationException
+                    && throwable.getMessage().equals("No existe un tipo de préstamo con ID: 9"))
+        .verify();
+    verify(solicitudRepository, never()).crear(any());
+  }
+
+  @Test
+  @DisplayName("Debería resolver el tipo de préstamo y el estado inicial una sola vez")
+  void deberiaResolverTipoPrestamoYEstadoInicialUnaSolaVez() {
+    // Arrange
+    TipoPrestamo tipoPrestamo =
+        new TipoPrestamo(
+            1L,
+            "Préstamo Personal",
+            new BigDecimal("500000"),
+            new BigDecimal("5000000"),
+            new BigDecimal("15.5"),
+            true);
+    Solicitud solicitud =
+        Solicitud.toSolicitud(
+            "12345678", "test@example.com", new BigDecimal("1000000"), LocalDate.now(), 1L, 1L);
+    when(tipoPrestamoRepository.findById(1L)).thenReturn(Mono.just(tipoPrestamo));
+    when(estadoRepository.obtenerIdEstadoPendienteRevision()).thenReturn(Mono.just(1L));
+    when(solicitudRepository.crear(any(Solicitud.class))).thenReturn(Mono.just(solicitud));
+
+    // Act
+    for (int i = 0; i < 2; i++) {
+      StepVerifier.create(
+              solicitudUseCase.crearSolicitud(
+                  "12345678", "test@example.com", new BigDecimal("1000000"), LocalDate.now(), 1L))
+          .expectNext(solicitud)
+          .verifyComplete();
+    }
+
+    // Assert
+    verify(tipoPrestamoRepository, times(2)).findById(1L);
+    verify(tipoPrestamoRepository, never()).existeById(any());
+    verify(estadoRepository, times(1)).obtenerIdEstadoPendienteRevision();
   }
 
   @Test
@@ -271,7 +348,6 @@ class SolicitudUseCaseTest {
   @DisplayName("Debería lanzar ValidationException si el estado no existe al actualizar")
   void deberiaLanzarValidationExceptionSiEstadoNoExisteAlActualizar() {
     // Arrange
-    when(solicitudRepository.existeById(1L)).thenReturn(Mono.just(true));
     when(estadoRepository.findById(2L)).thenReturn(Mono.empty());
     when(solicitudRepository.findById(1L))
         .thenReturn(
@@ -315,14 +391,16 @@ class SolicitudUseCaseTest {
     Solicitud solicitud =
         Solicitud.toSolicitud("doc", "mail@test.com", BigDecimal.ONE, LocalDate.now(), 1L, 1L);
     Solicitud solicitudActualizada = solicitud.cambiarEstado(2L);
-    when(solicitudRepository.existeById(1L)).thenReturn(Mono.just(true));
     when(estadoRepository.findById(2L))
         .thenReturn(Mono.just(new co.com.crediya.model.solicitud.Estado(2L, "Aprobado", "desc")));
     when(solicitudRepository.findById(1L)).thenReturn(Mono.just(solicitud));
-    when(solicitudRepository.actualizar(any(Solicitud.class)))
+    when(solicitudRepository.actualizarEstado(solicitud, 2L))
         .thenReturn(Mono.just(solicitudActualizada));
-    when(notificationGateway.enviarNotificacionEstadoSolicitud(
-            "mail@test.com", "Aprobado", solicitudActualizada.getIdSolicitud()))
+    when(estadoRepository.findById(1L))
+        .thenReturn(Mono.just(new Estado(1L, "Pendiente de revision", "desc")));
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.just(new ResumenAprobadas(1L, BigDecimal.ONE)));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(1L, BigDecimal.ONE))
         .thenReturn(Mono.empty());
 
     // Act
@@ -330,6 +408,135 @@ class SolicitudUseCaseTest {
 
     // Assert
     StepVerifier.create(resultado).expectNext(solicitudActualizada).verifyComplete();
+    verify(outboxRepository)
+        .registrar(
+            EventoOutbox.notificacionEstado(
+                solicitudActualizada.getIdSolicitud(), "mail@test.com", "Aprobado"));
+  }
+
+  @Test
+  @DisplayName("Debería aplicar delta positivo al resumen cuando la solicitud pasa a Aprobada")
+  void deberiaAplicarDeltaPositivoCuandoSolicitudPasaAAprobada() {
+    // Arrange
+    Solicitud solicitud =
+        Solicitud.toSolicitud("doc", "mail@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 1L);
+    Solicitud solicitudActualizada = solicitud.cambiarEstado(2L);
+    when(estadoRepository.findById(1L))
+        .thenReturn(Mono.just(new Estado(1L, "Pendiente de revision", "desc")));
+    when(estadoRepository.findById(2L)).thenReturn(Mono.just(new Estado(2L, "Aprobada", "desc")));
+    when(solicitudRepository.findById(1L)).thenReturn(Mono.just(solicitud));
+    when(solicitudRepository.actualizarEstado(solicitud, 2L))
+        .thenReturn(Mono.just(solicitudActualizada));
+    when(resumenAprobadasRepository.aplicarDelta(1L, BigDecimal.TEN)).thenReturn(Mono.empty());
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.just(new ResumenAprobadas(1L, BigDecimal.TEN)));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(1L, BigDecimal.TEN))
+        .thenReturn(Mono.just("ok"));
+
+    // Act
+    Mono<Solicitud> resultado = solicitudUseCase.actualizarSolicitud(1L, 2L, false);
+
+    // Assert
+    StepVerifier.create(resultado).expectNext(solicitudActualizada).verifyComplete();
+    verify(resumenAprobadasRepository).aplicarDelta(1L, BigDecimal.TEN);
+  }
+
+  @Test
+  @DisplayName("Debería aplicar delta negativo al resumen cuando la solicitud deja de estar Aprobada")
+  void deberiaAplicarDeltaNegativoCuandoSolicitudDejaDeEstarAprobada() {
+    // Arrange
+    Solicitud solicitud =
+        Solicitud.toSolicitud("doc", "mail@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 2L);
+    Solicitud solicitudActualizada = solicitud.cambiarEstado(3L);
+    when(estadoRepository.findById(2L)).thenReturn(Mono.just(new Estado(2L, "Aprobada", "desc")));
+    when(estadoRepository.findById(3L)).thenReturn(Mono.just(new Estado(3L, "Rechazada", "desc")));
+    when(solicitudRepository.findById(1L)).thenReturn(Mono.just(solicitud));
+    when(solicitudRepository.actualizarEstado(solicitud, 3L))
+        .thenReturn(Mono.just(solicitudActualizada));
+    when(resumenAprobadasRepository.aplicarDelta(-1L, BigDecimal.TEN.negate()))
+        .thenReturn(Mono.empty());
+    when(resumenAprobadasRepository.obtener()).thenReturn(Mono.just(ResumenAprobadas.vacio()));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(any(), any()))
+        .thenReturn(Mono.just("ok"));
+
+    // Act
+    Mono<Solicitud> resultado = solicitudUseCase.actualizarSolicitud(1L, 3L, false);
+
+    // Assert
+    StepVerifier.create(resultado).expectNext(solicitudActualizada).verifyComplete();
+    verify(resumenAprobadasRepository).aplicarDelta(-1L, BigDecimal.TEN.negate());
+  }
+
+  @Test
+  @DisplayName("No debería modificar el resumen cuando el cambio no involucra el estado Aprobada")
+  void noDeberiaModificarResumenCuandoCambioNoInvolucraAprobada() {
+    // Arrange
+    Solicitud solicitud =
+        Solicitud.toSolicitud("doc", "mail@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 1L);
+    Solicitud solicitudActualizada = solicitud.cambiarEstado(3L);
+    when(estadoRepository.findById(1L))
+        .thenReturn(Mono.just(new Estado(1L, "Pendiente de revision", "desc")));
+    when(estadoRepository.findById(3L)).thenReturn(Mono.just(new Estado(3L, "Rechazada", "desc")));
+    when(solicitudRepository.findById(1L)).thenReturn(Mono.just(solicitud));
+    when(solicitudRepository.actualizarEstado(solicitud, 3L))
+        .thenReturn(Mono.just(solicitudActualizada));
+    when(resumenAprobadasRepository.obtener()).thenReturn(Mono.just(ResumenAprobadas.vacio()));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(any(), any()))
+        .thenReturn(Mono.just("ok"));
+
+    // Act
+    Mono<Solicitud> resultado = solicitudUseCase.actualizarSolicitud(1L, 3L, false);
+
+    // Assert
+    StepVerifier.create(resultado).expectNext(solicitudActualizada).verifyComplete();
+    verify(resumenAprobadasRepository, never()).aplicarDelta(anyLong(), any());
+  }
+
+  @Test
+  @DisplayName("Debería reintentar el cambio de estado cuando la solicitud cambió concurrentemente")
+  void deberiaReintentarCambioEstadoCuandoSolicitudCambioConcurrentemente() {
+    // Arrange
+    Solicitud leida =
+        Solicitud.toSolicitud("doc", "mail@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 1L);
+    Solicitud releida = leida.cambiarEstado(4L);
+    Solicitud solicitudActualizada = leida.cambiarEstado(3L);
+    when(estadoRepository.findById(3L)).thenReturn(Mono.just(new Estado(3L, "Rechazada", "desc")));
+    when(estadoRepository.findById(4L))
+        .thenReturn(Mono.just(new Estado(4L, "Revision manual", "desc")));
+    when(solicitudRepository.findById(1L)).thenReturn(Mono.just(leida), Mono.just(releida));
+    when(solicitudRepository.actualizarEstado(leida, 3L)).thenReturn(Mono.empty());
+    when(solicitudRepository.actualizarEstado(releida, 3L))
+        .thenReturn(Mono.just(solicitudActualizada));
+    when(resumenAprobadasRepository.obtener()).thenReturn(Mono.just(ResumenAprobadas.vacio()));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(any(), any()))
+        .thenReturn(Mono.just("ok"));
+
+    // Act
+    Mono<Solicitud> resultado = solicitudUseCase.actualizarSolicitud(1L, 3L, false);
+
+    // Assert
+    StepVerifier.create(resultado).expectNext(solicitudActualizada).verifyComplete();
+    verify(solicitudRepository).actualizarEstado(releida, 3L);
+  }
+
+  @Test
+  @DisplayName("Debería lanzar ValidationException si la solicitud no existe al actualizar")
+  void deberiaLanzarValidationExceptionSiSolicitudNoExisteAlActualizar() {
+    // Arrange
+    when(estadoRepository.findById(2L)).thenReturn(Mono.just(new Estado(2L, "Aprobada", "desc")));
+    when(solicitudRepository.findById(1L)).thenReturn(Mono.empty());
+
+    // Act
+    Mono<Solicitud> resultado = solicitudUseCase.actualizarSolicitud(1L, 2L, false);
+
+    // Assert
+    StepVerifier.create(resultado)
+        .expectErrorMatches(
+            throwable ->
+                throwable instanceof ValidationException
+                    && throwable.getMessage().equals("No existe una solicitud con ID: 1"))
+        .verify();
+    verify(solicitudRepository, never()).actualizarEstado(any(), anyLong());
   }
 
   @Test
@@ -338,19 +545,21 @@ class SolicitudUseCaseTest {
     // Arrange
     int page = 0;
     int size = 10;
-    List<Solicitud> solicitudes =
+    List<SolicitudDetalle> solicitudes =
         List.of(
-            Solicitud.toSolicitud(
-                "doc1", "mail1@test.com", BigDecimal.valueOf(1000), LocalDate.now(), 1L, 1L),
-            Solicitud.toSolicitud(
-                "doc2", "mail2@test.com", BigDecimal.valueOf(2000), LocalDate.now(), 1L, 1L));
-    PageResult<Solicitud> expectedPageResult = new PageResult<>(solicitudes, page, size, 2);
+            detalle(
+                Solicitud.toSolicitud(
+                    "doc1", "mail1@test.com", BigDecimal.valueOf(1000), LocalDate.now(), 1L, 1L)),
+            detalle(
+                Solicitud.toSolicitud(
+                    "doc2", "mail2@test.com", BigDecimal.valueOf(2000), LocalDate.now(), 1L, 1L)));
+    PageResult<SolicitudDetalle> expectedPageResult = new PageResult<>(solicitudes, page, size, 2);
 
     when(solicitudRepository.obtenerSolicitudes(page, size))
         .thenReturn(Mono.just(expectedPageResult));
 
     // Act
-    Mono<PageResult<Solicitud>> resultado =
+    Mono<PageResult<SolicitudDetalle>> resultado =
         solicitudUseCase.obtenerSolicitudesPaginadas(page, size);
 
     // Assert
@@ -363,17 +572,18 @@ class SolicitudUseCaseTest {
     // Arrange
     int page = 1;
     int size = 5;
-    List<Solicitud> solicitudes =
+    List<SolicitudDetalle> solicitudes =
         List.of(
-            Solicitud.toSolicitud(
-                "doc3", "mail3@test.com", BigDecimal.valueOf(3000), LocalDate.now(), 1L, 1L));
-    PageResult<Solicitud> expectedPageResult = new PageResult<>(solicitudes, page, size, 6);
+            detalle(
+                Solicitud.toSolicitud(
+                    "doc3", "mail3@test.com", BigDecimal.valueOf(3000), LocalDate.now(), 1L, 1L)));
+    PageResult<SolicitudDetalle> expectedPageResult = new PageResult<>(solicitudes, page, size, 6);
 
     when(solicitudRepository.obtenerSolicitudes(page, size))
         .thenReturn(Mono.just(expectedPageResult));
 
     // Act
-    Mono<PageResult<Solicitud>> resultado =
+    Mono<PageResult<SolicitudDetalle>> resultado =
         solicitudUseCase.obtenerSolicitudesPaginadas(page, size);
 
     // Assert
@@ -386,14 +596,14 @@ class SolicitudUseCaseTest {
     // Arrange
     int page = 0;
     int size = 10;
-    List<Solicitud> solicitudesVacias = List.of();
-    PageResult<Solicitud> expectedPageResult = new PageResult<>(solicitudesVacias, page, size, 0);
+    List<SolicitudDetalle> solicitudesVacias = List.of();
+    PageResult<SolicitudDetalle> expectedPageResult = new PageResult<>(solicitudesVacias, page, size, 0);
 
     when(solicitudRepository.obtenerSolicitudes(page, size))
         .thenReturn(Mono.just(expectedPageResult));
 
     // Act
-    Mono<PageResult<Solicitud>> resultado =
+    Mono<PageResult<SolicitudDetalle>> resultado =
         solicitudUseCase.obtenerSolicitudesPaginadas(page, size);
 
     // Assert
@@ -401,13 +611,36 @@ class SolicitudUseCaseTest {
   }
 
   @Test
-  @DisplayName("Debería lanzar ValidationException cuando idUsuario es nulo en obtener solicitudes por idUsuario")
-  void deberiaLanzarValidationExceptionCuandoIdUsuarioEsNuloEnObtenerSolicitudesPorIdUsuario() {
+  @DisplayName("Debería obtener solicitudes por cursor desde el último ID recibido")
+  void deberiaObtenerSolicitudesPorCursor() {
+    // Arrange
+    List<SolicitudDetalle> solicitudes =
+        List.of(
+            detalle(
+                Solicitud.fromDatabase(
+                    40L, "doc4", "mail4@test.com", BigDecimal.valueOf(4000), LocalDate.now(), 1L,
+                    1L)));
+    CursorPageResult<SolicitudDetalle> expected =
+        new CursorPageResult<>(solicitudes, 10, 40L, false);
+
+    when(solicitudRepository.obtenerSolicitudesDesde(50L, 10)).thenReturn(Mono.just(expected));
+
+    // Act
+    Mono<CursorPageResult<SolicitudDetalle>> resultado =
+        solicitudUseCase.obtenerSolicitudesPorCursor(50L, 10);
+
+    // Assert
+    StepVerifier.create(resultado).expectNext(expected).verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Debería lanzar ValidationException cuando idUsuario es nulo en obtener detalles por idUsuario")
+  void deberiaLanzarValidationExceptionCuandoIdUsuarioEsNuloEnObtenerDetallesPorIdUsuario() {
     // Arrange
     String idUsuario = null;
 
     // Act
-    Mono<List<Solicitud>> resultado = solicitudUseCase.obtenerSolicitudesPorIdUsuario(idUsuario);
+    Flux<SolicitudDetalle> resultado = solicitudUseCase.obtenerDetallesPorIdUsuario(idUsuario);
 
     // Assert
     StepVerifier.create(resultado)
@@ -419,13 +652,13 @@ class SolicitudUseCaseTest {
   }
 
   @Test
-  @DisplayName("Debería lanzar ValidationException cuando idUsuario está vacío en obtener solicitudes por idUsuario")
-  void deberiaLanzarValidationExceptionCuandoIdUsuarioEstaVacioEnObtenerSolicitudesPorIdUsuario() {
+  @DisplayName("Debería lanzar ValidationException cuando idUsuario está vacío en obtener detalles por idUsuario")
+  void deberiaLanzarValidationExceptionCuandoIdUsuarioEstaVacioEnObtenerDetallesPorIdUsuario() {
     // Arrange
     String idUsuario = "";
 
     // Act
-    Mono<List<Solicitud>> resultado = solicitudUseCase.obtenerSolicitudesPorIdUsuario(idUsuario);
+    Flux<SolicitudDetalle> resultado = solicitudUseCase.obtenerDetallesPorIdUsuario(idUsuario);
 
     // Assert
     StepVerifier.create(resultado)
@@ -437,21 +670,160 @@ class SolicitudUseCaseTest {
   }
 
   @Test
-  @DisplayName("Debería obtener solicitudes por idUsuario exitosamente")
-  void deberiaObtenerSolicitudesPorIdUsuarioExitosamente() {
+  @DisplayName("Debería transmitir los detalles de solicitudes por idUsuario")
+  void deberiaTransmitirDetallesDeSolicitudesPorIdUsuario() {
     // Arrange
     String idUsuario = "12345678";
-    List<Solicitud> solicitudesEsperadas = List.of(
-        Solicitud.toSolicitud("12345678", "test@example.com", BigDecimal.valueOf(1000), LocalDate.now(), 1L, 1L)
-    );
+    SolicitudDetalle detalle =
+        new SolicitudDetalle(
+            Solicitud.toSolicitud(
+                idUsuario, "test@example.com", BigDecimal.valueOf(1000), LocalDate.now(), 1L, 1L),
+            "Libre inversión",
+            BigDecimal.ONE,
+            "Pendiente de revisión");
+
+    when(solicitudRepository.obtenerDetallesPorIdUser(idUsuario)).thenReturn(Flux.just(detalle));
+
+    // Act
+    Flux<SolicitudDetalle> resultado = solicitudUseCase.obtenerDetallesPorIdUsuario(idUsuario);
 
-    when(solicitudRepository.obtenerSolicitudesPorIdUser(idUsuario)).thenReturn(Mono.just(solicitudesEsperadas));
+    // Assert
+    StepVerifier.create(resultado).expectNext(detalle).verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Debería actualizar un lote agrupando los UPDATE, el delta y las notificaciones")
+  void deberiaActualizarLoteAgrupandoEfectos() {
+    // Arrange
+    Solicitud primera =
+        Solicitud.fromDatabase(1L, "doc", "uno@test.com", BigDecimal.TEN, LocalDate.now(), 1L, 1L);
+    Solicitud segunda =
+        Solicitud.fromDatabase(2L, "doc", "dos@test.com", BigDecimal.ONE, LocalDate.now(), 1L, 1L);
+    List<CambioEstadoSolicitud> cambios =
+        List.of(
+            new CambioEstadoSolicitud(1L, 2L),
+            new CambioEstadoSolicitud(99L, 2L),
+            new CambioEstadoSolicitud(2L, 2L),
+            new CambioEstadoSolicitud(1L, 2L),
+            new CambioEstadoSolicitud(3L, 7L));
+    when(estadoRepository.findById(1L))
+        .thenReturn(Mono.just(new Estado(1L, "Pendiente de revision", "desc")));
+    when(estadoRepository.findById(2L)).thenReturn(Mono.just(new Estado(2L, "Aprobada", "desc")));
+    when(estadoRepository.findById(7L)).thenReturn(Mono.empty());
+    when(solicitudRepository.bloquearPorIds(List.of(1L, 99L, 2L)))
+        .thenReturn(Flux.just(primera, segunda));
+    when(solicitudRepository.actualizarEstadoEnLote(List.of(1L, 2L), 2L))
+        .thenReturn(Mono.just(2L));
+    when(resumenAprobadasRepository.aplicarDelta(2L, new BigDecimal("11")))
+        .thenReturn(Mono.empty());
+    when(outboxRepository.registrarTodos(any())).thenReturn(Mono.empty());
+    when(resumenAprobadasRepository.obtener())
+        .thenReturn(Mono.just(new ResumenAprobadas(2L, new BigDecimal("11"))));
+    when(reportsGateway.enviarReporteSolicitudesAprobadas(any(), any()))
+        .thenReturn(Mono.just("ok"));
 
     // Act
-    Mono<List<Solicitud>> resultado = solicitudUseCase.obtenerSolicitudesPorIdUsuario(idUsuario);
+    Mono<List<ResultadoCambioEstado>> resultado =
+        solicitudUseCase.actualizarSolicitudesEnLote(cambios, true);
 
     // Assert
-    StepVerifier.create(resultado).expectNext(solicitudesEsperadas).verifyComplete();
+    StepVerifier.create(resultado)
+        .assertNext(
+            resultados -> {
+              assertEquals(5, resultados.size());
+              assertTrue(resultados.get(0).actualizada());
+              assertEquals("No existe una solicitud con ID: 99", resultados.get(1).error());
+              assertTrue(resultados.get(2).actualizada());
+              assertEquals("La solicitud 1 está repetida en el lote", resultados.get(3).error());
+              assertEquals("No existe un estado con ID: 7", resultados.get(4).error());
+            })
+        .verifyComplete();
+    verify(solicitudRepository, times(1)).actualizarEstadoEnLote(any(), any());
+    verify(resumenAprobadasRepository, times(1)).aplicarDelta(anyLong(), any());
+    verify(outboxRepository).registrarTodos(argThat(eventos -> eventos.size() == 2));
+    verify(reportsGateway, times(1)).enviarReporteSolicitudesAprobadas(any(), any());
+    verify(transaccionGateway, times(1)).ejecutar(any());
+  }
+
+  @Test
+  @DisplayName("Debería rechazar un lote vacío de cambios de estado")
+  void deberiaRechazarLoteVacio() {
+    // Act
+    Mono<List<ResultadoCambioEstado>> resultado =
+        solicitudUseCase.actualizarSolicitudesEnLote(List.of(), true);
+
+    // Assert
+    StepVerifier.create(resultado)
+        .expectErrorMatches(
+            throwable ->
+                throwable instanceof ValidationException
+                    && throwable.getMessage().equals("El lote de cambios de estado es obligatorio"))
+        .verify();
+    verify(transaccionGateway, never()).ejecutar(any());
+  }
+
+  @Test
+  @DisplayName("Debería importar solicitudes en un solo INSERT informando el resultado por fila")
+  void deberiaImportarSolicitudesInformandoResultadoPorFila() {
+    // Arrange
+    TipoPrestamo automatico =
+        new TipoPrestamo(
+            1L, "Libre inversión", BigDecimal.ONE, new BigDecimal("1000"), BigDecimal.ONE, true);
+    TipoPrestamo manual =
+        new TipoPrestamo(
+            2L, "Vivienda", BigDecimal.ONE, new BigDecimal("1000"), BigDecimal.ONE, false);
+    Flux<FilaImportacion> filas =
+        Flux.just(
+            FilaImportacion.valida(1, nuevaSolicitud("u1", BigDecimal.TEN, 1L)),
+            FilaImportacion.invalida(2, "El email es obligatorio"),
+            FilaImportacion.valida(3, nuevaSolicitud("u2", BigDecimal.TEN, 9L)),
+            FilaImportacion.valida(4, nuevaSolicitud("u3", new BigDecimal("5000"), 2L)),
+            FilaImportacion.valida(5, nuevaSolicitud("u4", BigDecimal.TEN, 2L)));
+    when(estadoRepository.obtenerIdEstadoPendienteRevision()).thenReturn(Mono.just(1L));
+    when(tipoPrestamoRepository.findById(1L)).thenReturn(Mono.just(automatico));
+    when(tipoPrestamoRepository.findById(2L)).thenReturn(Mono.just(manual));
+    when(tipoPrestamoRepository.findById(9L)).thenReturn(Mono.empty());
+    when(solicitudRepository.crearEnLote(any()))
+        .thenAnswer(
+            inv -> {
+              List<Solicitud> solicitudes = inv.getArgument(0);
+              return Mono.just(
+                  List.of(conId(solicitudes.get(0), 100L), conId(solicitudes.get(1), 101L)));
+            });
+    when(outboxRepository.registrarTodos(any())).thenReturn(Mono.empty());
+
+    // Act
+    Flux<ResultadoImportacion> resultado = solicitudUseCase.importarSolicitudes(filas);
+
+    // Assert
+    StepVerifier.create(resultado)
+        .expectNext(ResultadoImportacion.creada(1, 100L))
+        .expectNext(ResultadoImportacion.fallida(2, "El email es obligatorio"))
+        .expectNext(ResultadoImportacion.fallida(3, "No existe un tipo de préstamo con ID: 9"))
+        .assertNext(fila -> assertEquals(4, fila.fila()))
+        .expectNext(ResultadoImportacion.creada(5, 101L))
+        .verifyComplete();
+    verify(solicitudRepository, times(1))
+        .crearEnLote(argThat(solicitudes -> solicitudes.size() == 2));
+    verify(outboxRepository)
+        .registrarTodos(
+            argThat(eventos -> eventos.size() == 1 && eventos.get(0).idSolicitud() == 100L));
+  }
+
+  private Solicitud nuevaSolicitud(String idUser, BigDecimal monto, Long idTipoPrestamo) {
+    return Solicitud.toSolicitud(
+        idUser, "mail@test.com", monto, LocalDate.now(), idTipoPrestamo, null);
+  }
+
+  private Solicitud conId(Solicitud solicitud, Long idSolicitud) {
+    return Solicitud.fromDatabase(
+        idSolicitud,
+        solicitud.getIdUser(),
+        solicitud.getEmail(),
+        solicitud.getMonto(),
+        solicitud.getPlazo(),
+        solicitud.getIdTipoPrestamo(),
+        solicitud.getIdEstado());
   }
 
   private boolean solicitudMatches(Solicitud actual, Solicitud expected) {
@@ -461,4 +833,9 @@ class SolicitudUseCaseTest {
            actual.getPlazo().equals(expected.getPlazo()) &&
            actual.getIdTipoPrestamo().equals(expected.getIdTipoPrestamo());
   }
+
+  private SolicitudDetalle detalle(Solicitud solicitud) {
+    return new SolicitudDetalle(
+        solicitud, "Préstamo Personal", new BigDecimal("15.5"), "Pendiente de revision");
+  }
 }
@@ -1,15 +1,15 @@
 package co.com.crediya.httpclient;
 
+import co.com.crediya.httpclient.config.UsuariosCacheProperties;
 import co.com.crediya.httpclient.dto.UsuarioResponseDTO;
 import co.com.crediya.httpclient.exception.HttpClientExceptionHandler;
+import co.com.crediya.httpclient.helper.CoalescingCache;
 import co.com.crediya.model.usuario.Usuario;
 import co.com.crediya.model.usuario.gateways.UsuarioRepository;
 import co.com.crediya.model.usuario.gateways.UsuarioValidacionRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -18,11 +18,12 @@ import reactor.core.publisher.Mono;
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class UsuarioHttpClient implements UsuarioRepository, UsuarioValidacionRepository {
 
   private final WebClient webClient;
   private final HttpClientExceptionHandler exceptionHandler;
+  private final CoalescingCache<Long, Usuario> usuariosPorId;
+  private final CoalescingCache<String, Usuario> usuariosPorDocumento;
 
   @Value("${microservices.usuarios.base-url:http://localhost:8080}")
   private String usuariosBaseUrl;
@@ -36,123 +37,105 @@ public class UsuarioHttpClient implements UsuarioRepository, UsuarioValidacionRe
   private static final String AUTHORIZATION_HEADER = "Authorization";
   private static final String BEARER_PREFIX = "Bearer ";
 
+  public UsuarioHttpClient(
+      WebClient webClient,
+      HttpClientExceptionHandler exceptionHandler,
+      UsuariosCacheProperties cacheProperties) {
+    this.webClient = webClient;
+    this.exceptionHandler = exceptionHandler;
+    this.usuariosPorId =
+        new CoalescingCache<>(
+            cacheProperties.maxEntradas(), cacheProperties.ttl(), cacheProperties.ttlNegativo());
+    this.usuariosPorDocumento =
+        new CoalescingCache<>(
+            cacheProperties.maxEntradas(), cacheProperties.ttl(), cacheProperties.ttlNegativo());
+  }
+
   @Override
   public Mono<Usuario> obtenerUsuarioPorId(Long idUsuario) {
     log.info("Obteniendo usuario por ID: {}", idUsuario);
 
-    return ReactiveSecurityContextHolder.getContext()
-        .map(SecurityContext::getAuthentication)
-        .map(auth -> auth != null ? (String) auth.getCredentials() : null)
-        .defaultIfEmpty(usuariosToken)
-        .flatMap(
-            token ->
-                webClient
-                    .get()
-                    .uri(usuariosBaseUrl + USUARIOS_BY_ID_ENDPOINT, idUsuario)
-                    .headers(
-                        headers -> {
-                          if (token != null && !token.isEmpty()) {
-                            headers.set(AUTHORIZATION_HEADER, BEARER_PREFIX + token);
-                          }
-                        })
-                    .retrieve()
-                    .bodyToMono(UsuarioResponseDTO.class)
-                    .doOnNext(
-                        usuario ->
-                            log.debug(
-                                "Usuario encontrado - ID: {}, Documento: {}",
-                                usuario.getIdUsuario(),
-                                usuario.getDocumentoIdentidad()))
-                    .map(this::mapToUsuario)
-                    .doOnSuccess(
-                        usuario -> log.info("Usuario con ID {} obtenido exitosamente", idUsuario))
-                    .onErrorResume(
-                        WebClientResponseException.NotFound.class,
-                        ex -> {
-                          log.warn("Usuario con ID {} no encontrado", idUsuario);
-                          return Mono.empty();
-                        })
-                    .onErrorResume(
-                        WebClientResponseException.class,
-                        ex -> {
-                          log.error(
-                              "Error al obtener usuario con ID {}: {}", idUsuario, ex.getMessage());
-                          return Mono.empty();
-                        })
-                    .onErrorResume(
-                        Exception.class,
-                        ex -> {
-                          log.error(
-                              "Error genérico al obtener usuario con ID {}: {}",
-                              idUsuario,
-                              ex.getMessage());
-                          return Mono.empty();
-                        }));
+    return usuariosPorId
+        .obtener(idUsuario, id -> consultarUsuario(USUARIOS_BY_ID_ENDPOINT, id))
+        .doOnSuccess(
+            usuario -> {
+              if (usuario != null) {
+                log.info("Usuario con ID {} obtenido exitosamente", idUsuario);
+              }
+            })
+        .onErrorResume(
+            WebClientResponseException.class,
+            ex -> {
+              log.error("Error al obtener usuario con ID {}: {}", idUsuario, ex.getMessage());
+              return Mono.empty();
+            })
+        .onErrorResume(
+            Exception.class,
+            ex -> {
+              log.error(
+                  "Error genérico al obtener usuario con ID {}: {}", idUsuario, ex.getMessage());
+              return Mono.empty();
+            });
   }
 
   @Override
   public Mono<Usuario> obtenerUsuarioPorDocumento(String documentoIdentidad) {
     log.info("Obteniendo usuario por documento: {}", documentoIdentidad);
 
-    return ReactiveSecurityContextHolder.getContext()
-        .map(SecurityContext::getAuthentication)
-        .map(auth -> auth != null ? (String) auth.getCredentials() : null)
-        .defaultIfEmpty(usuariosToken)
-        .flatMap(
-            token ->
-                webClient
-                    .get()
-                    .uri(usuariosBaseUrl + USUARIOS_BY_DOCUMENTO_ENDPOINT, documentoIdentidad)
-                    .headers(
-                        headers -> {
-                          if (token != null && !token.isEmpty()) {
-                            headers.set(AUTHORIZATION_HEADER, BEARER_PREFIX + token);
-                          }
-                        })
-                    .retrieve()
-                    .bodyToMono(UsuarioResponseDTO.class)
-                    .doOnNext(
-                        usuario ->
-                            log.debug(
-                                "Usuario encontrado - ID: {}, Documento: {}",
-                                usuario.getIdUsuario(),
-                                usuario.getDocumentoIdentidad()))
-                    .map(this::mapToUsuario)
-                    .doOnSuccess(
-                        usuario ->
-                            log.info(
-                                "Usuario con documento {} obtenido exitosamente",
-                                documentoIdentidad))
-                    .onErrorResume(
-                        WebClientResponseException.NotFound.class,
-                        ex -> {
-                          log.warn("Usuario con documento {} no encontrado", documentoIdentidad);
-                          return Mono.empty();
-                        })
-                    .onErrorResume(
-                        WebClientResponseException.class,
-                        ex -> {
-                          log.error(
-                              "Error al obtener usuario con documento {}: {}",
-                              documentoIdentidad,
-                              ex.getMessage());
-                          return Mono.empty();
-                        })
-                    .onErrorResume(
-                        Exception.class,
-                        ex -> {
-                          log.error(
-                              "Error genérico al obtener usuario con documento {}: {}",
-                              documentoIdentidad,
-                              ex.getMessage());
-                          return Mono.empty();
-                        }));
+    return usuariosPorDocumento
+        .obtener(
+            documentoIdentidad,
+            documento -> consultarUsuario(USUARIOS_BY_DOCUMENTO_ENDPOINT, documento))
+        .doOnSuccess(
+            usuario -> {
+              if (usuario != null) {
+                log.info("Usuario con documento {} obtenido exitosamente", documentoIdentidad);
+              }
+            })
+        .onErrorResume(
+            WebClientResponseException.class,
+            ex -> {
+              log.error(
+                  "Error al obtener usuario con documento {}: {}",
+                  documentoIdentidad,
+                  ex.getMessage());
+              return Mono.empty();
+            })
+        .onErrorResume(
+            Exception.class,
+            ex -> {
+              log.error(
+                  "Error genérico al obtener usuario con documento {}: {}",
+                  documentoIdentidad,
+                  ex.getMessage());
+              return Mono.empty();
+            });
   }
 
   @Override
   public Mono<Boolean> existeUsuarioPorDocumento(String documentoIdentidad) {
     log.info("Validando existencia de usuario con documento: {}", documentoIdentidad);
 
+    // Comparte la caché de la consulta por documento: un 404 cacheado responde false
+    return usuariosPorDocumento
+        .obtener(
+            documentoIdentidad,
+            documento -> consultarUsuario(USUARIOS_BY_DOCUMENTO_ENDPOINT, documento))
+        .map(usuario -> true)
+        .defaultIfEmpty(false)
+        .doOnSuccess(
+            existe ->
+                log.info(
+                    "Usuario con documento {} existe y es válido: {}", documentoIdentidad, existe))
+        .onErrorResume(
+            WebClientResponseException.class,
+            ex -> exceptionHandler.handleWebClientException(ex, documentoIdentidad))
+        .onErrorResume(
+            Exception.class,
+            ex -> exceptionHandler.handleGenericException(ex, documentoIdentidad));
+  }
+
+  private Mono<Usuario> consultarUsuario(String endpoint, Object variable) {
     return ReactiveSecurityContextHolder.getContext()
         .map(SecurityContext::getAuthentication)
         .map(auth -> auth != null ? (String) auth.getCredentials() : null)
@@ -161,7 +144,7 @@ public class UsuarioHttpClient implements UsuarioRepository, UsuarioValidacionRe
             token ->
                 webClient
                     .get()
-                    .uri(usuariosBaseUrl + USUARIOS_BY_DOCUMENTO_ENDPOINT, documentoIdentidad)
+                    .uri(usuariosBaseUrl + endpoint, variable)
                     .headers(
                         headers -> {
                           if (token != null && !token.isEmpty()) {
@@ -169,26 +152,21 @@ public class UsuarioHttpClient implements UsuarioRepository, UsuarioValidacionRe
                           }
                         })
                     .retrieve()
-                    .bodyToMono(UsuarioResponseDTO.class)
-                    .doOnNext(
-                        usuario ->
-                            log.debug(
-                                "Usuario encontrado - ID: {}, Activo: {}",
-                                usuario.getIdUsuario(),
-                                usuario.isActivo()))
-                    .map(this::esUsuarioValido)
-                    .doOnSuccess(
-                        existe ->
-                            log.info(
-                                "Usuario con documento {} existe y es válido: {}",
-                                documentoIdentidad,
-                                existe))
-                    .onErrorResume(
-                        WebClientResponseException.class,
-                        ex -> exceptionHandler.handleWebClientException(ex, documentoIdentidad))
-                    .onErrorResume(
-                        Exception.class,
-                        ex -> exceptionHandler.handleGenericException(ex, documentoIdentidad)));
+                    .bodyToMono(UsuarioResponseDTO.class))
+        .doOnNext(
+            usuario ->
+                log.debug(
+                    "Usuario encontrado - ID: {}, Documento: {}",
+                    usuario.getIdUsuario(),
+                    usuario.getDocumentoIdentidad()))
+        .map(this::mapToUsuario)
+        // El 404 se resuelve como vacío para que la caché lo conserve como resultado negativo
+        .onErrorResume(
+            WebClientResponseException.NotFound.class,
+            ex -> {
+              log.warn("Usuario {} no encontrado", variable);
+              return Mono.empty();
+            });
   }
 
   private Usuario mapToUsuario(UsuarioResponseDTO dto) {
@@ -205,13 +183,4 @@ public class UsuarioHttpClient implements UsuarioRepository, UsuarioValidacionRe
         .activo(dto.isActivo())
         .build();
   }
-
-  private boolean esUsuarioValido(UsuarioResponseDTO usuario) {
-    if (usuario == null) {
-      log.warn("Usuario response es null");
-      return false;
-    }
-
-    return true;
-  }
 }
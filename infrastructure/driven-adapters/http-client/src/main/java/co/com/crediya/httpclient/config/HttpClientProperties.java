@@ -0,0 +1,31 @@
+package co.com.crediya.httpclient.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "crediya.httpclient")
+public record HttpClientProperties(
+    @DefaultValue Timeout timeout,
+    @DefaultValue Pool pool,
+    @DefaultValue("HTTP11") List<HttpProtocol> protocolos,
+    @DefaultValue("1048576") int maxMemorySize) {
+
+  public record Timeout(
+      @DefaultValue("5s") Duration connection,
+      @DefaultValue("10s") Duration response,
+      @DefaultValue("10s") Duration read,
+      @DefaultValue("10s") Duration write) {}
+
+  public record Pool(
+      @DefaultValue("100") int maxConnections,
+      @DefaultValue("500") int pendingAcquireMaxCount,
+      @DefaultValue("5s") Duration pendingAcquireTimeout,
+      @DefaultValue("30s") Duration maxIdleTime,
+      @DefaultValue("5m") Duration maxLifeTime,
+      @DefaultValue("1m") Duration evictInBackground,
+      @DefaultValue("true") boolean metrics) {}
+}
@@ -0,0 +1,12 @@
+package co.com.crediya.httpclient.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "microservices.usuarios.cache")
+public record UsuariosCacheProperties(
+    @DefaultValue("10000") int maxEntradas,
+    @DefaultValue("5m") Duration ttl,
+    @DefaultValue("30s") Duration ttlNegativo) {}
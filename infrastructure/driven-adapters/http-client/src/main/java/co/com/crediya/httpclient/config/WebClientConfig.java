@@ -1,30 +1,59 @@
 package co.com.crediya.httpclient.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebClientConfig {
 
-  @Value("${webclient.timeout.connect:5000}")
-  private int connectTimeout;
-
-  @Value("${webclient.timeout.response:10000}")
-  private int responseTimeout;
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider usuariosConnectionProvider(HttpClientProperties properties) {
+    HttpClientProperties.Pool pool = properties.pool();
+    // Las métricas del pool se publican como reactor.netty.connection.provider.*
+    return ConnectionProvider.builder("usuarios")
+        .maxConnections(pool.maxConnections())
+        .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+        .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+        .maxIdleTime(pool.maxIdleTime())
+        .maxLifeTime(pool.maxLifeTime())
+        .evictInBackground(pool.evictInBackground())
+        .metrics(pool.metrics())
+        .build();
+  }
 
   @Bean
-  public WebClient webClient() {
-    HttpClient httpClient = HttpClient.create().responseTimeout(Duration.ofMillis(responseTimeout));
+  public WebClient webClient(
+      ConnectionProvider usuariosConnectionProvider, HttpClientProperties properties) {
+    HttpClientProperties.Timeout timeout = properties.timeout();
+    HttpClient httpClient =
+        HttpClient.create(usuariosConnectionProvider)
+            .protocol(properties.protocolos().toArray(HttpProtocol[]::new))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeout.connection().toMillis())
+            .responseTimeout(timeout.response())
+            .doOnConnected(
+                connection ->
+                    connection
+                        .addHandlerLast(
+                            new ReadTimeoutHandler(
+                                timeout.read().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(
+                            new WriteTimeoutHandler(
+                                timeout.write().toMillis(), TimeUnit.MILLISECONDS)));
 
     return WebClient.builder()
         .clientConnector(new ReactorClientHttpConnector(httpClient))
-        .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024)) // 1MB
+        .codecs(
+            configurer -> configurer.defaultCodecs().maxInMemorySize(properties.maxMemorySize()))
         .build();
   }
 }
@@ -0,0 +1,46 @@
+package co.com.crediya.httpclient.helper;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache LRU para consultas remotas. Cada clave guarda un {@link Mono} cacheado, así las consultas
+ * concurrentes de una misma clave comparten la llamada en curso. Los resultados vacíos (404) se
+ * conservan con un TTL menor y los errores no se conservan.
+ */
+public class CoalescingCache<K, V> {
+  private final Duration ttl;
+  private final Duration ttlNegativo;
+  private final Map<K, Mono<V>> entradas;
+
+  public CoalescingCache(int maxEntradas, Duration ttl, Duration ttlNegativo) {
+    this.ttl = ttl;
+    this.ttlNegativo = ttlNegativo;
+    this.entradas =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, Mono<V>> eldest) {
+            return size() > maxEntradas;
+          }
+        };
+  }
+
+  public Mono<V> obtener(K clave, Function<K, Mono<V>> cargar) {
+    return Mono.defer(() -> entrada(clave, cargar));
+  }
+
+  public synchronized void invalidar(K clave) {
+    entradas.remove(clave);
+  }
+
+  private synchronized Mono<V> entrada(K clave, Function<K, Mono<V>> cargar) {
+    // Al vencer el TTL el mismo Mono vuelve a consultar en la siguiente suscripción
+    return entradas.computeIfAbsent(
+        clave,
+        k -> cargar.apply(k).cache(valor -> ttl, error -> Duration.ZERO, () -> ttlNegativo));
+  }
+}
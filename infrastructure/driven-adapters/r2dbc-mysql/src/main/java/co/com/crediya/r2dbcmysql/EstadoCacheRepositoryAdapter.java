@@ -0,0 +1,74 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.solicitud.Estado;
+import co.com.crediya.model.solicitud.gateways.EstadoRepository;
+import co.com.crediya.r2dbcmysql.config.CatalogoCacheProperties;
+import co.com.crediya.r2dbcmysql.helper.CatalogoCacheOperations;
+import co.com.crediya.r2dbcmysql.mapper.EstadoEntityMapper;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Primary
+@Repository
+public class EstadoCacheRepositoryAdapter extends CatalogoCacheOperations<Estado>
+    implements EstadoRepository {
+
+  private static final String ESTADO_PENDIENTE_REVISION = "Pendiente de revision";
+
+  private final EstadoRepositoryAdapter delegate;
+  private final EstadoReactiveRepository repository;
+  private final EstadoEntityMapper mapper;
+
+  public EstadoCacheRepositoryAdapter(
+      EstadoRepositoryAdapter delegate,
+      EstadoReactiveRepository repository,
+      EstadoEntityMapper mapper,
+      CatalogoCacheProperties properties) {
+    super("estado", properties.intervaloRefresco());
+    this.delegate = delegate;
+    this.repository = repository;
+    this.mapper = mapper;
+  }
+
+  @Override
+  protected Flux<Estado> cargarCatalogo() {
+    return repository.findAll().map(mapper::toDomain);
+  }
+
+  @Override
+  protected Long idDe(Estado estado) {
+    return estado.getIdEstado();
+  }
+
+  @Override
+  protected String nombreDe(Estado estado) {
+    return estado.getNombre();
+  }
+
+  @Override
+  public Mono<Estado> findById(Long idEstado) {
+    return buscarPorId(idEstado, delegate::findById);
+  }
+
+  @Override
+  public Mono<Estado> findByNombre(String nombre) {
+    return buscarPorNombre(nombre, delegate::findByNombre);
+  }
+
+  @Override
+  public Mono<Boolean> existeByNombre(String nombre) {
+    return findByNombre(nombre).hasElement();
+  }
+
+  @Override
+  public Mono<Long> obtenerIdEstadoPendienteRevision() {
+    return findByNombre(ESTADO_PENDIENTE_REVISION)
+        .map(Estado::getIdEstado)
+        .switchIfEmpty(
+            Mono.error(
+                new IllegalStateException(
+                    "No se encontró el estado 'Pendiente de revision' en la base de datos")));
+  }
+}
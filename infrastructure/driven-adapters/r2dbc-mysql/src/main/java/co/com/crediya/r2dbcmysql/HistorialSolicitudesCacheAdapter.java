@@ -0,0 +1,112 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.solicitud.Estado;
+import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import co.com.crediya.model.solicitud.gateways.HistorialSolicitudesRepository;
+import co.com.crediya.r2dbcmysql.config.HistorialSolicitudesProperties;
+import co.com.crediya.r2dbcmysql.mapper.SolicitudEntityMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Historial de solicitudes por usuario con los datos del tipo de préstamo y estado ya resueltos,
+ * guardado en un LRU acotado. Cada lectura compara la huella de las solicitudes del usuario
+ * (identificador y estado) con la guardada, así un cambio de estado hecho por cualquier instancia
+ * recarga el historial. Las altas y cambios de estado locales descartan la entrada.
+ */
+@Repository
+@Slf4j
+public class HistorialSolicitudesCacheAdapter implements HistorialSolicitudesRepository {
+  private final SolicitudReactiveRepository repository;
+  private final SolicitudEntityMapper solicitudEntityMapper;
+  private final HistorialSolicitudesProperties properties;
+  private final Map<String, Entrada> historiales;
+
+  public HistorialSolicitudesCacheAdapter(
+      SolicitudReactiveRepository repository,
+      SolicitudEntityMapper solicitudEntityMapper,
+      HistorialSolicitudesProperties properties) {
+    this.repository = repository;
+    this.solicitudEntityMapper = solicitudEntityMapper;
+    this.properties = properties;
+    this.historiales =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+            return size() > properties.maxUsuarios();
+          }
+        };
+  }
+
+  @Override
+  public Mono<List<SolicitudDetalle>> obtenerPorIdUser(String idUser) {
+    Entrada entrada = vigente(idUser);
+    if (entrada == null) {
+      return recargar(idUser);
+    }
+    return repository
+        .calcularHuellaPorIdUser(idUser)
+        .flatMap(
+            huella ->
+                huella.equals(entrada.huella())
+                    ? Mono.just(entrada.historial())
+                    : recargar(idUser));
+  }
+
+  @Override
+  public Mono<List<SolicitudDetalle>> recargar(String idUser) {
+    log.debug("[HISTORIAL_CACHE] Cargando historial de solicitudes para idUser: {}", idUser);
+    // La huella se lee antes que las filas: si cambian entre ambas lecturas la entrada queda
+    // con una huella antigua y se recarga en la siguiente consulta
+    return repository
+        .calcularHuellaPorIdUser(idUser)
+        .flatMap(
+            huella ->
+                repository
+                    .findDetallesPorIdUser(idUser)
+                    .map(solicitudEntityMapper::toDetalle)
+                    .collectList()
+                    .map(List::copyOf)
+                    .doOnNext(historial -> guardar(idUser, huella, historial)));
+  }
+
+  @Override
+  public Mono<Void> registrar(SolicitudDetalle detalle) {
+    return Mono.fromRunnable(() -> descartar(detalle.solicitud().getIdUser()));
+  }
+
+  @Override
+  public Mono<Void> actualizarEstado(Solicitud solicitud, Estado estado) {
+    return Mono.fromRunnable(() -> descartar(solicitud.getIdUser()));
+  }
+
+  private synchronized Entrada vigente(String idUser) {
+    Entrada entrada = historiales.get(idUser);
+    if (entrada == null) {
+      return null;
+    }
+    if (entrada.expira().isBefore(Instant.now())) {
+      historiales.remove(idUser);
+      return null;
+    }
+    return entrada;
+  }
+
+  private synchronized void guardar(
+      String idUser, String huella, List<SolicitudDetalle> historial) {
+    historiales.put(idUser, new Entrada(historial, huella, Instant.now().plus(properties.ttl())));
+  }
+
+  private synchronized void descartar(String idUser) {
+    historiales.remove(idUser);
+  }
+
+  private record Entrada(List<SolicitudDetalle> historial, String huella, Instant expira) {}
+}
@@ -0,0 +1,26 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.r2dbcmysql.entities.MensajeProcesadoEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface MensajeProcesadoReactiveRepository
+    extends ReactiveCrudRepository<MensajeProcesadoEntity, String> {
+
+  @Query(
+      "SELECT COUNT(*) FROM mensaje_procesado WHERE clave = :clave"
+          + " AND fecha_procesado >= DATE_SUB(NOW(), INTERVAL :segundosVigencia SECOND)")
+  Mono<Long> contarVigentes(String clave, long segundosVigencia);
+
+  @Modifying
+  @Query("INSERT IGNORE INTO mensaje_procesado (clave) VALUES (:clave)")
+  Mono<Integer> registrar(String clave);
+
+  @Modifying
+  @Query("DELETE FROM mensaje_procesado WHERE fecha_procesado < :limite")
+  Mono<Integer> purgarAnterioresA(LocalDateTime limite);
+}
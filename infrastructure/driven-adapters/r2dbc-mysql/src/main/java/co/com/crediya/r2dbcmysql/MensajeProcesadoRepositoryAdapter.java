@@ -0,0 +1,76 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.solicitud.gateways.MensajeProcesadoRepository;
+import co.com.crediya.r2dbcmysql.config.MensajeProcesadoProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class MensajeProcesadoRepositoryAdapter implements MensajeProcesadoRepository {
+  private final MensajeProcesadoReactiveRepository repository;
+  private final MensajeProcesadoProperties properties;
+  private Disposable purga;
+
+  @PostConstruct
+  public void iniciar() {
+    // Los registros solo deben sobrevivir a las redistribuciones de SQS, no indefinidamente
+    purga =
+        Flux.interval(properties.intervaloPurga())
+            .onBackpressureDrop()
+            .concatMap(tick -> purgar().onErrorResume(error -> Mono.empty()))
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void detener() {
+    if (purga != null) {
+      purga.dispose();
+    }
+  }
+
+  @Override
+  public Mono<Boolean> fueProcesado(String clave, Duration vigencia) {
+    // Solo cuentan los registros dentro de la vigencia; la retención de la purga es más larga
+    return repository.contarVigentes(clave, vigencia.toSeconds()).map(cantidad -> cantidad > 0);
+  }
+
+  @Override
+  public Mono<Void> registrar(String clave) {
+    log.debug("[MENSAJE_PROCESADO_ADAPTER] Registrando mensaje procesado {}", clave);
+    return repository
+        .registrar(clave)
+        .doOnError(
+            error ->
+                log.error(
+                    "[MENSAJE_PROCESADO_ADAPTER] Error registrando mensaje {}: {}",
+                    clave,
+                    error.getMessage()))
+        .then();
+  }
+
+  private Mono<Void> purgar() {
+    return repository
+        .purgarAnterioresA(LocalDateTime.now().minus(properties.retencion()))
+        .doOnNext(
+            eliminados ->
+                log.debug(
+                    "[MENSAJE_PROCESADO_ADAPTER] {} mensajes procesados purgados", eliminados))
+        .doOnError(
+            error ->
+                log.error(
+                    "[MENSAJE_PROCESADO_ADAPTER] Error purgando mensajes procesados: {}",
+                    error.getMessage()))
+        .then();
+  }
+}
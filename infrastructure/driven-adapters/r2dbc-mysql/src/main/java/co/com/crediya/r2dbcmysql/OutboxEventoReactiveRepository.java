@@ -0,0 +1,43 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.r2dbcmysql.entities.OutboxEventoEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface OutboxEventoReactiveRepository
+    extends ReactiveCrudRepository<OutboxEventoEntity, Long> {
+
+  @Modifying
+  @Query(
+      "UPDATE outbox_evento"
+          + " SET lote = :lote, bloqueado_hasta = DATE_ADD(NOW(), INTERVAL :segundosBloqueo SECOND)"
+          + " WHERE fecha_envio IS NULL AND intentos < :maxIntentos"
+          + " AND (bloqueado_hasta IS NULL OR bloqueado_hasta < NOW())"
+          + " ORDER BY id_evento LIMIT :limite")
+  Mono<Integer> reclamar(String lote, long segundosBloqueo, int maxIntentos, int limite);
+
+  Flux<OutboxEventoEntity> findAllByLoteOrderByIdEvento(String lote);
+
+  @Modifying
+  @Query(
+      "UPDATE outbox_evento SET fecha_envio = NOW(), lote = NULL, bloqueado_hasta = NULL"
+          + " WHERE id_evento IN (:idsEventos)")
+  Mono<Integer> marcarEnviados(Collection<Long> idsEventos);
+
+  @Modifying
+  @Query(
+      "UPDATE outbox_evento SET intentos = intentos + 1, lote = NULL,"
+          + " bloqueado_hasta = DATE_ADD(NOW(), INTERVAL :segundosEspera SECOND)"
+          + " WHERE id_evento = :idEvento")
+  Mono<Integer> registrarFallo(Long idEvento, long segundosEspera);
+
+  @Modifying
+  @Query("DELETE FROM outbox_evento WHERE fecha_envio < :limite")
+  Mono<Integer> purgarEnviadosAntesDe(LocalDateTime limite);
+}
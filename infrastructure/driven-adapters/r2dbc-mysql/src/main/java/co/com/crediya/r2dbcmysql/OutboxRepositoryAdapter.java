@@ -0,0 +1,168 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.solicitud.EventoOutbox;
+import co.com.crediya.model.solicitud.TipoEventoOutbox;
+import co.com.crediya.model.solicitud.gateways.OutboxRepository;
+import co.com.crediya.r2dbcmysql.config.OutboxProperties;
+import co.com.crediya.r2dbcmysql.entities.OutboxEventoEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRepositoryAdapter implements OutboxRepository {
+  private final OutboxEventoReactiveRepository repository;
+  private final OutboxProperties properties;
+  private final MeterRegistry meterRegistry;
+  private Disposable purga;
+
+  @PostConstruct
+  public void iniciar() {
+    purga =
+        Flux.interval(properties.intervaloPurga())
+            .onBackpressureDrop()
+            .concatMap(tick -> purgar().onErrorResume(error -> Mono.empty()))
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void detener() {
+    if (purga != null) {
+      purga.dispose();
+    }
+  }
+
+  @Override
+  public Mono<Void> registrar(EventoOutbox evento) {
+    log.debug(
+        "[OUTBOX_ADAPTER] Registrando evento {} para solicitud ID: {}",
+        evento.tipo(),
+        evento.idSolicitud());
+    return repository
+        .save(toEntity(evento))
+        .doOnError(
+            error ->
+                log.error("[OUTBOX_ADAPTER] Error registrando evento: {}", error.getMessage()))
+        .then();
+  }
+
+  @Override
+  public Mono<Void> registrarTodos(List<EventoOutbox> eventos) {
+    if (eventos.isEmpty()) {
+      return Mono.empty();
+    }
+    log.debug("[OUTBOX_ADAPTER] Registrando {} eventos", eventos.size());
+    return repository
+        .saveAll(eventos.stream().map(this::toEntity).toList())
+        .doOnError(
+            error ->
+                log.error("[OUTBOX_ADAPTER] Error registrando eventos: {}", error.getMessage()))
+        .then();
+  }
+
+  @Override
+  public Flux<EventoOutbox> reclamarPendientes(int limite, Duration bloqueo, int maxIntentos) {
+    // El lote marca los eventos tomados por esta instancia hasta que venza el bloqueo
+    String lote = UUID.randomUUID().toString();
+    return repository
+        .reclamar(lote, bloqueo.toSeconds(), maxIntentos, limite)
+        .flatMapMany(
+            reclamados ->
+                reclamados == 0
+                    ? Flux.<OutboxEventoEntity>empty()
+                    : repository.findAllByLoteOrderByIdEvento(lote))
+        .map(this::toDomain)
+        .doOnError(
+            error ->
+                log.error(
+                    "[OUTBOX_ADAPTER] Error reclamando eventos pendientes: {}",
+                    error.getMessage()));
+  }
+
+  @Override
+  public Mono<Void> marcarEnviados(List<Long> idsEventos) {
+    if (idsEventos.isEmpty()) {
+      return Mono.empty();
+    }
+    return repository
+        .marcarEnviados(idsEventos)
+        .doOnNext(
+            marcados -> log.debug("[OUTBOX_ADAPTER] {} eventos marcados como enviados", marcados))
+        .then();
+  }
+
+  @Override
+  public Mono<Void> registrarFallo(EventoOutbox evento, Duration reintentarEn, boolean agotado) {
+    log.warn(
+        "[OUTBOX_ADAPTER] Registrando fallo de envío del evento ID: {}, reintento en {}",
+        evento.idEvento(),
+        reintentarEn);
+    return repository
+        .registrarFallo(evento.idEvento(), Math.max(reintentarEn.toSeconds(), 1))
+        .doOnNext(
+            actualizados -> {
+              if (agotado) {
+                registrarAgotado(evento);
+              }
+            })
+        .then();
+  }
+
+  // El evento agotado queda en la tabla sin volver a reclamarse; la purga solo borra enviados
+  private void registrarAgotado(EventoOutbox evento) {
+    log.error(
+        "[OUTBOX_ADAPTER] Evento ID: {} de tipo {} para solicitud ID: {} agotó sus {} intentos",
+        evento.idEvento(),
+        evento.tipo(),
+        evento.idSolicitud(),
+        evento.intentos() + 1);
+    Counter.builder("outbox.eventos.agotados")
+        .tag("tipo", evento.tipo().name())
+        .register(meterRegistry)
+        .increment();
+  }
+
+  private Mono<Void> purgar() {
+    return repository
+        .purgarEnviadosAntesDe(LocalDateTime.now().minus(properties.retencion()))
+        .doOnNext(eliminados -> log.debug("[OUTBOX_ADAPTER] {} eventos purgados", eliminados))
+        .doOnError(
+            error ->
+                log.error("[OUTBOX_ADAPTER] Error purgando eventos: {}", error.getMessage()))
+        .then();
+  }
+
+  private OutboxEventoEntity toEntity(EventoOutbox evento) {
+    return OutboxEventoEntity.builder()
+        .tipo(evento.tipo().name())
+        .idSolicitud(evento.idSolicitud())
+        .email(evento.email())
+        .estado(evento.estado())
+        .intentos(0)
+        .build();
+  }
+
+  private EventoOutbox toDomain(OutboxEventoEntity entity) {
+    return new EventoOutbox(
+        entity.getIdEvento(),
+        TipoEventoOutbox.valueOf(entity.getTipo()),
+        entity.getIdSolicitud(),
+        entity.getEmail(),
+        entity.getEstado(),
+        entity.getIntentos() != null ? entity.getIntentos() : 0);
+  }
+}
@@ -0,0 +1,31 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.r2dbcmysql.entities.ResumenAprobadasEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface ResumenAprobadasReactiveRepository
+    extends ReactiveCrudRepository<ResumenAprobadasEntity, Integer> {
+
+  @Modifying
+  @Query(
+      "UPDATE resumen_solicitudes_aprobadas"
+          + " SET total_solicitudes = total_solicitudes + :deltaSolicitudes,"
+          + " monto_total = monto_total + :deltaMonto"
+          + " WHERE id_resumen = :idResumen")
+  Mono<Integer> aplicarDelta(Integer idResumen, long deltaSolicitudes, BigDecimal deltaMonto);
+
+  @Modifying
+  @Query(
+      "UPDATE resumen_solicitudes_aprobadas r,"
+          + " (SELECT COUNT(*) AS total, COALESCE(SUM(s.monto), 0) AS monto"
+          + " FROM solicitud s JOIN estado e ON s.id_estado = e.id_estado"
+          + " WHERE e.nombre = 'Aprobada') a"
+          + " SET r.total_solicitudes = a.total, r.monto_total = a.monto"
+          + " WHERE r.id_resumen = :idResumen")
+  Mono<Integer> reconciliar(Integer idResumen);
+}
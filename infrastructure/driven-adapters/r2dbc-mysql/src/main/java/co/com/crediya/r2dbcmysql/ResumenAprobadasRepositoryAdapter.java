@@ -0,0 +1,86 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.solicitud.ResumenAprobadas;
+import co.com.crediya.model.solicitud.gateways.ResumenAprobadasRepository;
+import co.com.crediya.r2dbcmysql.config.ResumenAprobadasProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class ResumenAprobadasRepositoryAdapter implements ResumenAprobadasRepository {
+  private static final Integer ID_RESUMEN = 1;
+
+  private final ResumenAprobadasReactiveRepository repository;
+  private final ResumenAprobadasProperties properties;
+  private Disposable reconciliacion;
+
+  @PostConstruct
+  public void iniciar() {
+    // La reconciliación corrige desviaciones del agregado, por ejemplo deltas que fallaron
+    reconciliacion =
+        Flux.interval(Duration.ZERO, properties.intervaloReconciliacion())
+            .onBackpressureDrop()
+            .concatMap(tick -> reconciliar().onErrorResume(error -> Mono.empty()))
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void detener() {
+    if (reconciliacion != null) {
+      reconciliacion.dispose();
+    }
+  }
+
+  @Override
+  public Mono<Void> aplicarDelta(long deltaSolicitudes, BigDecimal deltaMonto) {
+    log.debug(
+        "[RESUMEN_APROBADAS_ADAPTER] Aplicando delta: solicitudes {}, monto {}",
+        deltaSolicitudes,
+        deltaMonto);
+    return repository
+        .aplicarDelta(ID_RESUMEN, deltaSolicitudes, deltaMonto)
+        .doOnError(
+            error ->
+                log.error(
+                    "[RESUMEN_APROBADAS_ADAPTER] Error aplicando delta: {}", error.getMessage()))
+        .then();
+  }
+
+  @Override
+  public Mono<ResumenAprobadas> obtener() {
+    return repository
+        .findById(ID_RESUMEN)
+        .map(
+            entity -> new ResumenAprobadas(entity.getTotalSolicitudes(), entity.getMontoTotal()))
+        .defaultIfEmpty(ResumenAprobadas.vacio());
+  }
+
+  @Override
+  public Mono<ResumenAprobadas> reconciliar() {
+    return repository
+        .reconciliar(ID_RESUMEN)
+        .then(obtener())
+        .doOnSuccess(
+            resumen ->
+                log.debug(
+                    "[RESUMEN_APROBADAS_ADAPTER] Resumen reconciliado: {} solicitudes, monto {}",
+                    resumen.totalSolicitudes(),
+                    resumen.montoTotal()))
+        .doOnError(
+            error ->
+                log.error(
+                    "[RESUMEN_APROBADAS_ADAPTER] Error reconciliando resumen: {}",
+                    error.getMessage()));
+  }
+}
@@ -1,27 +1,73 @@
 package co.com.crediya.r2dbcmysql;
 
+import co.com.crediya.r2dbcmysql.entities.SolicitudDetalleEntity;
 import co.com.crediya.r2dbcmysql.entities.SolicitudEntity;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 
 public interface SolicitudReactiveRepository
     extends ReactiveCrudRepository<SolicitudEntity, Long>,
         ReactiveQueryByExampleExecutor<SolicitudEntity> {
   Mono<Boolean> existsByIdUser(String idUser);
 
-  Flux<SolicitudEntity> findAllByOrderByIdSolicitudDesc(Pageable pageable);
+  @Query(
+      "SELECT s.id_solicitud, s.monto, s.plazo, s.email, s.id_user, s.id_estado, s.id_tipo_prestamo,"
+          + " t.nombre AS nombre_tipo_prestamo, t.tasa_interes, e.nombre AS nombre_estado"
+          + " FROM solicitud s"
+          + " JOIN tipo_prestamo t ON s.id_tipo_prestamo = t.id_tipo_prestamo"
+          + " JOIN estado e ON s.id_estado = e.id_estado"
+          + " ORDER BY s.id_solicitud DESC LIMIT :limite OFFSET :desplazamiento")
+  Flux<SolicitudDetalleEntity> findDetallePagina(long limite, long desplazamiento);
 
-  Flux<SolicitudEntity> findAllByIdUser(String idUser);
-  
-  @Query("SELECT COUNT(*) FROM solicitud s JOIN estado e ON s.id_estado = e.id_estado WHERE e.nombre = 'Aprobada'")
-  Mono<Long> countByEstadoAprobado();
+  @Query(
+      "SELECT s.id_solicitud, s.monto, s.plazo, s.email, s.id_user, s.id_estado, s.id_tipo_prestamo,"
+          + " t.nombre AS nombre_tipo_prestamo, t.tasa_interes, e.nombre AS nombre_estado"
+          + " FROM solicitud s"
+          + " JOIN tipo_prestamo t ON s.id_tipo_prestamo = t.id_tipo_prestamo"
+          + " JOIN estado e ON s.id_estado = e.id_estado"
+          + " WHERE s.id_solicitud < :ultimoId"
+          + " ORDER BY s.id_solicitud DESC LIMIT :limite")
+  Flux<SolicitudDetalleEntity> findDetalleAnterioresA(Long ultimoId, long limite);
+
+  @Query(
+      "SELECT s.id_solicitud, s.monto, s.plazo, s.email, s.id_user, s.id_estado, s.id_tipo_prestamo,"
+          + " t.nombre AS nombre_tipo_prestamo, t.tasa_interes, e.nombre AS nombre_estado"
+          + " FROM solicitud s"
+          + " JOIN tipo_prestamo t ON s.id_tipo_prestamo = t.id_tipo_prestamo"
+          + " JOIN estado e ON s.id_estado = e.id_estado"
+          + " WHERE s.id_user = :idUser"
+          + " ORDER BY s.id_solicitud")
+  Flux<SolicitudDetalleEntity> findDetallesPorIdUser(String idUser);
+
+  @Query(
+      "SELECT CONCAT(COUNT(*), ':',"
+          + " COALESCE(BIT_XOR(CRC32(CONCAT(id_solicitud, ':', id_estado))), 0))"
+          + " FROM solicitud WHERE id_user = :idUser")
+  Mono<String> calcularHuellaPorIdUser(String idUser);
+
+  @Modifying
+  @Query(
+      "UPDATE solicitud SET id_estado = :nuevoIdEstado"
+          + " WHERE id_solicitud = :idSolicitud AND id_estado = :idEstadoActual")
+  Mono<Integer> actualizarEstadoSiCoincide(
+      Long idSolicitud, Long idEstadoActual, Long nuevoIdEstado);
+
+  @Query("SELECT * FROM solicitud WHERE id_solicitud IN (:idsSolicitud) FOR UPDATE")
+  Flux<SolicitudEntity> bloquearPorIds(Collection<Long> idsSolicitud);
+
+  @Modifying
+  @Query(
+      "UPDATE solicitud SET id_estado = :nuevoIdEstado WHERE id_solicitud IN (:idsSolicitud)")
+  Mono<Long> actualizarEstadoEnLote(Collection<Long> idsSolicitud, Long nuevoIdEstado);
   
-  @Query("SELECT COALESCE(SUM(s.monto), 0) FROM solicitud s JOIN estado e ON s.id_estado = e.id_estado WHERE e.nombre = 'Aprobada'")
-  Mono<BigDecimal> sumMontoByEstadoAprobado();
+  @Query(
+      "SELECT CAST(TABLE_ROWS AS SIGNED) FROM information_schema.TABLES"
+          + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'solicitud' AND TABLE_ROWS IS NOT NULL")
+  Mono<Long> estimarTotalSolicitudes();
 }
@@ -1,18 +1,27 @@
 package co.com.crediya.r2dbcmysql;
 
+import co.com.crediya.model.common.CursorPageResult;
 import co.com.crediya.model.common.PageResult;
 import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
 import co.com.crediya.model.solicitud.gateways.SolicitudRepository;
+import co.com.crediya.r2dbcmysql.entities.SolicitudDetalleEntity;
 import co.com.crediya.r2dbcmysql.entities.SolicitudEntity;
+import co.com.crediya.r2dbcmysql.helper.ConteoSolicitudes;
 import co.com.crediya.r2dbcmysql.helper.ReactiveAdapterOperations;
 import co.com.crediya.r2dbcmysql.mapper.SolicitudEntityMapper;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivecommons.utils.ObjectMapper;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -21,14 +30,26 @@ public class SolicitudReactiveRepositoryAdapter
     extends ReactiveAdapterOperations<Solicitud, SolicitudEntity, Long, SolicitudReactiveRepository>
     implements SolicitudRepository {
 
+  private static final String INSERTAR_SOLICITUDES =
+      "INSERT INTO solicitud (monto, plazo, email, id_user, id_estado, id_tipo_prestamo) VALUES ";
+  private static final String VALORES_SOLICITUD = "(?, ?, ?, ?, ?, ?)";
+  private static final String CONSULTAR_IDS_GENERADOS =
+      "SELECT CAST(LAST_INSERT_ID() AS SIGNED), CAST(@@auto_increment_increment AS SIGNED)";
+
   private final SolicitudEntityMapper solicitudEntityMapper;
+  private final ConteoSolicitudes conteoSolicitudes;
+  private final DatabaseClient databaseClient;
 
   public SolicitudReactiveRepositoryAdapter(
       SolicitudReactiveRepository repository,
       ObjectMapper mapper,
-      SolicitudEntityMapper solicitudEntityMapper) {
+      SolicitudEntityMapper solicitudEntityMapper,
+      ConteoSolicitudes conteoSolicitudes,
+      DatabaseClient databaseClient) {
     super(repository, mapper, d -> mapper.map(d, Solicitud.class));
     this.solicitudEntityMapper = solicitudEntityMapper;
+    this.conteoSolicitudes = conteoSolicitudes;
+    this.databaseClient = databaseClient;
   }
 
   @Override
@@ -45,6 +66,73 @@ public class SolicitudReactiveRepositoryAdapter
                 log.error("[SOLICITUD_ADAPTER] Error guardando solicitud: {}", error.getMessage()));
   }
 
+  @Override
+  public Mono<List<Solicitud>> crearEnLote(List<Solicitud> solicitudes) {
+    if (solicitudes.isEmpty()) {
+      return Mono.just(List.of());
+    }
+    log.debug("[SOLICITUD_ADAPTER] Creando lote de {} solicitudes", solicitudes.size());
+    // Un solo INSERT de varias filas; MySQL asigna ids consecutivos a partir de LAST_INSERT_ID()
+    return databaseClient
+        .inConnection(
+            connection -> {
+              Statement insercion =
+                  connection.createStatement(
+                      INSERTAR_SOLICITUDES
+                          + String.join(
+                              ", ", Collections.nCopies(solicitudes.size(), VALORES_SOLICITUD)));
+              int indice = 0;
+              for (Solicitud solicitud : solicitudes) {
+                insercion
+                    .bind(indice++, solicitud.getMonto())
+                    .bind(indice++, solicitud.getPlazo())
+                    .bind(indice++, solicitud.getEmail())
+                    .bind(indice++, solicitud.getIdUser())
+                    .bind(indice++, solicitud.getIdEstado())
+                    .bind(indice++, solicitud.getIdTipoPrestamo());
+              }
+              return Flux.from(insercion.execute())
+                  .concatMap(Result::getRowsUpdated)
+                  .then(
+                      Flux.from(
+                              connection.createStatement(CONSULTAR_IDS_GENERADOS).execute())
+                          .concatMap(
+                              resultado ->
+                                  resultado.map(
+                                      (fila, metadata) ->
+                                          asignarIds(
+                                              solicitudes,
+                                              fila.get(0, Long.class),
+                                              fila.get(1, Long.class))))
+                          .next());
+            })
+        .doOnSuccess(
+            creadas ->
+                log.debug("[SOLICITUD_ADAPTER] Lote de {} solicitudes creado", creadas.size()))
+        .doOnError(
+            error ->
+                log.error(
+                    "[SOLICITUD_ADAPTER] Error creando lote de solicitudes: {}",
+                    error.getMessage()));
+  }
+
+  private List<Solicitud> asignarIds(List<Solicitud> solicitudes, Long primerId, Long incremento) {
+    List<Solicitud> creadas = new ArrayList<>(solicitudes.size());
+    for (int i = 0; i < solicitudes.size(); i++) {
+      Solicitud solicitud = solicitudes.get(i);
+      creadas.add(
+          Solicitud.fromDatabase(
+              primerId + i * incremento,
+              solicitud.getIdUser(),
+              solicitud.getEmail(),
+              solicitud.getMonto(),
+              solicitud.getPlazo(),
+              solicitud.getIdTipoPrestamo(),
+              solicitud.getIdEstado()));
+    }
+    return creadas;
+  }
+
   @Override
   public Mono<Boolean> existePorIdUser(String idUser) {
     log.debug("[SOLICITUD_ADAPTER] Validando existencia de solicitud para idUser: {}", idUser);
@@ -52,42 +140,44 @@ public class SolicitudReactiveRepositoryAdapter
   }
 
   @Override
-  public Mono<List<Solicitud>> obtenerSolicitudesPorIdUser(String idUser) {
-    log.debug("[SOLICITUD_ADAPTER] Obteniendo solicitudes por idUser: {}", idUser);
+  public Flux<SolicitudDetalle> obtenerDetallesPorIdUser(String idUser) {
+    log.debug("[SOLICITUD_ADAPTER] Transmitiendo detalles de solicitudes por idUser: {}", idUser);
+    // Las filas se emiten a medida que llegan, sin acumular el historial completo en memoria
     return super.repository
-        .findAllByIdUser(idUser)
-        .map(solicitudEntityMapper::toDomain)
-        .collectList()
-        .doOnSuccess(
-            solicitudes ->
-                log.debug(
-                    "[SOLICITUD_ADAPTER] Se encontraron {} solicitudes para idUser: {}",
-                    solicitudes.size(),
-                    idUser));
+        .findDetallesPorIdUser(idUser)
+        .map(solicitudEntityMapper::toDetalle)
+        .doOnError(
+            error ->
+                log.error(
+                    "[SOLICITUD_ADAPTER] Error transmitiendo solicitudes por idUser: {}",
+                    error.getMessage()));
   }
 
   @Override
-  public Mono<PageResult<Solicitud>> obtenerSolicitudes(int page, int size) {
+  public Mono<PageResult<SolicitudDetalle>> obtenerSolicitudes(int page, int size) {
     log.debug(
-        "[SOLICITUD_ADAPTER] Obteniendo solicitudes paginadas - página: {}, tamañotamaño: {}",
+        "[SOLICITUD_ADAPTER] Obteniendo solicitudes paginadas - página: {}, tamaño: {}",
         page,
         size);
 
-    PageRequest springPageRequest = PageRequest.of(page, size);
-
-    return super.repository
-        .count()
+    return conteoSolicitudes
+        .contar()
         .flatMap(
-            total -> {
-              if (total == 0) {
-                return Mono.just(new PageResult<Solicitud>(List.of(), page, size, total));
+            conteo -> {
+              // Un total estimado puede ser cero aunque existan filas
+              if (conteo.total() == 0 && conteo.exacto()) {
+                return Mono.just(
+                    new PageResult<SolicitudDetalle>(List.of(), page, size, 0, true));
               }
 
               return super.repository
-                  .findAllByOrderByIdSolicitudDesc(springPageRequest)
-                  .map(solicitudEntityMapper::toDomain)
+                  .findDetallePagina(size, (long) page * size)
+                  .map(solicitudEntityMapper::toDetalle)
                   .collectList()
-                  .map(solicitudes -> new PageResult<>(solicitudes, page, size, total));
+                  .map(
+                      solicitudes ->
+                          new PageResult<>(
+                              solicitudes, page, size, conteo.total(), conteo.exacto()));
             })
         .doOnSuccess(
             result ->
@@ -97,6 +187,34 @@ public class SolicitudReactiveRepositoryAdapter
                     result.totalElements()));
   }
 
+  @Override
+  public Mono<CursorPageResult<SolicitudDetalle>> obtenerSolicitudesDesde(Long ultimoId, int size) {
+    log.debug(
+        "[SOLICITUD_ADAPTER] Obteniendo solicitudes por cursor - último ID: {}, tamaño: {}",
+        ultimoId,
+        size);
+
+    // Se consulta una fila adicional para saber si existe una página siguiente sin usar COUNT
+    Flux<SolicitudDetalleEntity> filas =
+        ultimoId == null
+            ? super.repository.findDetallePagina(size + 1L, 0)
+            : super.repository.findDetalleAnterioresA(ultimoId, size + 1L);
+
+    return filas
+        .map(solicitudEntityMapper::toDetalle)
+        .collectList()
+        .map(
+            detalles ->
+                CursorPageResult.desdeConsulta(
+                    detalles, size, detalle -> detalle.solicitud().getIdSolicitud()))
+        .doOnSuccess(
+            result ->
+                log.debug(
+                    "[SOLICITUD_ADAPTER] Se obtuvieron {} solicitudes por cursor, hay más: {}",
+                    result.content().size(),
+                    result.hayMas()));
+  }
+
   @Override
   public Mono<Solicitud> actualizar(Solicitud solicitud) {
     log.debug("[SOLICITUD_ADAPTER] Actualizando solicitud ID: {}", solicitud.getIdSolicitud());
@@ -114,6 +232,62 @@ public class SolicitudReactiveRepositoryAdapter
                     "[SOLICITUD_ADAPTER] Error actualizando solicitud: {}", error.getMessage()));
   }
 
+  @Override
+  public Mono<Solicitud> actualizarEstado(Solicitud solicitud, Long nuevoIdEstado) {
+    log.debug(
+        "[SOLICITUD_ADAPTER] Actualizando estado de solicitud ID: {} de {} a {}",
+        solicitud.getIdSolicitud(),
+        solicitud.getIdEstado(),
+        nuevoIdEstado);
+    return super.repository
+        .actualizarEstadoSiCoincide(
+            solicitud.getIdSolicitud(), solicitud.getIdEstado(), nuevoIdEstado)
+        .filter(filas -> filas > 0)
+        .map(filas -> solicitud.cambiarEstado(nuevoIdEstado))
+        .doOnSuccess(
+            s -> {
+              if (s == null) {
+                log.debug(
+                    "[SOLICITUD_ADAPTER] La solicitud ID: {} cambió de estado concurrentemente",
+                    solicitud.getIdSolicitud());
+              }
+            })
+        .doOnError(
+            error ->
+                log.error(
+                    "[SOLICITUD_ADAPTER] Error actualizando estado de solicitud: {}",
+                    error.getMessage()));
+  }
+
+  @Override
+  public Flux<Solicitud> bloquearPorIds(Collection<Long> idsSolicitud) {
+    log.debug(
+        "[SOLICITUD_ADAPTER] Bloqueando {} solicitudes para actualización", idsSolicitud.size());
+    // SELECT ... FOR UPDATE: las filas quedan bloqueadas hasta el fin de la transacción
+    return super.repository
+        .bloquearPorIds(idsSolicitud)
+        .map(solicitudEntityMapper::toDomain)
+        .doOnError(
+            error ->
+                log.error(
+                    "[SOLICITUD_ADAPTER] Error bloqueando solicitudes: {}", error.getMessage()));
+  }
+
+  @Override
+  public Mono<Long> actualizarEstadoEnLote(Collection<Long> idsSolicitud, Long nuevoIdEstado) {
+    log.debug(
+        "[SOLICITUD_ADAPTER] Actualizando {} solicitudes al estado ID: {}",
+        idsSolicitud.size(),
+        nuevoIdEstado);
+    return super.repository
+        .actualizarEstadoEnLote(idsSolicitud, nuevoIdEstado)
+        .doOnError(
+            error ->
+                log.error(
+                    "[SOLICITUD_ADAPTER] Error actualizando estados en lote: {}",
+                    error.getMessage()));
+  }
+
   @Override
   public Mono<Solicitud> findById(Long idSolicitud) {
     log.debug("[SOLICITUD_ADAPTER] Buscando solicitud por ID: {}", idSolicitud);
@@ -135,22 +309,4 @@ public class SolicitudReactiveRepositoryAdapter
         .existsById(idSolicitud)
         .doOnSuccess(existe -> log.debug("[SOLICITUD_ADAPTER] Solicitud existe: {}", existe));
   }
-
-  @Override
-  public Mono<Long> contarSolicitudesAprobadas() {
-    log.debug("[SOLICITUD_ADAPTER] Contando solicitudes aprobadas");
-    return super.repository
-        .countByEstadoAprobado()
-        .doOnSuccess(count -> log.debug("[SOLICITUD_ADAPTER] Solicitudes aprobadas encontradas: {}", count))
-        .doOnError(error -> log.error("[SOLICITUD_ADAPTER] Error contando solicitudes aprobadas: {}", error.getMessage()));
-  }
-
-  @Override
-  public Mono<BigDecimal> sumarMontoSolicitudesAprobadas() {
-    log.debug("[SOLICITUD_ADAPTER] Sumando monto de solicitudes aprobadas");
-    return super.repository
-        .sumMontoByEstadoAprobado()
-        .doOnSuccess(suma -> log.debug("[SOLICITUD_ADAPTER] Monto total de solicitudes aprobadas: {}", suma))
-        .doOnError(error -> log.error("[SOLICITUD_ADAPTER] Error sumando monto de solicitudes aprobadas: {}", error.getMessage()));
-  }
 }
@@ -0,0 +1,67 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.solicitud.TipoPrestamo;
+import co.com.crediya.model.solicitud.gateways.TipoPrestamoRepository;
+import co.com.crediya.r2dbcmysql.config.CatalogoCacheProperties;
+import co.com.crediya.r2dbcmysql.helper.CatalogoCacheOperations;
+import co.com.crediya.r2dbcmysql.mapper.TipoPrestamoEntityMapper;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Primary
+@Repository
+public class TipoPrestamoCacheRepositoryAdapter extends CatalogoCacheOperations<TipoPrestamo>
+    implements TipoPrestamoRepository {
+
+  private final TipoPrestamoRepositoryAdapter delegate;
+  private final TipoPrestamoReactiveRepository repository;
+  private final TipoPrestamoEntityMapper mapper;
+
+  public TipoPrestamoCacheRepositoryAdapter(
+      TipoPrestamoRepositoryAdapter delegate,
+      TipoPrestamoReactiveRepository repository,
+      TipoPrestamoEntityMapper mapper,
+      CatalogoCacheProperties properties) {
+    super("tipo_prestamo", properties.intervaloRefresco());
+    this.delegate = delegate;
+    this.repository = repository;
+    this.mapper = mapper;
+  }
+
+  @Override
+  protected Flux<TipoPrestamo> cargarCatalogo() {
+    return repository.findAll().map(mapper::toDomain);
+  }
+
+  @Override
+  protected Long idDe(TipoPrestamo tipoPrestamo) {
+    return tipoPrestamo.getIdTipoPrestamo();
+  }
+
+  @Override
+  protected String nombreDe(TipoPrestamo tipoPrestamo) {
+    return tipoPrestamo.getNombre();
+  }
+
+  @Override
+  public Mono<TipoPrestamo> findById(Long idTipoPrestamo) {
+    return buscarPorId(idTipoPrestamo, delegate::findById);
+  }
+
+  @Override
+  public Mono<TipoPrestamo> findByNombre(String nombre) {
+    return buscarPorNombre(nombre, delegate::findByNombre);
+  }
+
+  @Override
+  public Mono<Boolean> existeByNombre(String nombre) {
+    return findByNombre(nombre).hasElement();
+  }
+
+  @Override
+  public Mono<Boolean> existeById(Long idTipoPrestamo) {
+    return findById(idTipoPrestamo).hasElement();
+  }
+}
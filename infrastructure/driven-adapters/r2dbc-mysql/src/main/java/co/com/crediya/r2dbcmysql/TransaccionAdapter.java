@@ -0,0 +1,21 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.common.gateways.TransaccionGateway;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+@Component
+public class TransaccionAdapter implements TransaccionGateway {
+  private final TransactionalOperator transactionalOperator;
+
+  public TransaccionAdapter(ReactiveTransactionManager transactionManager) {
+    this.transactionalOperator = TransactionalOperator.create(transactionManager);
+  }
+
+  @Override
+  public <T> Mono<T> ejecutar(Mono<T> operacion) {
+    return operacion.as(transactionalOperator::transactional);
+  }
+}
@@ -0,0 +1,9 @@
+package co.com.crediya.r2dbcmysql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.catalogo-cache")
+public record CatalogoCacheProperties(@DefaultValue("5m") Duration intervaloRefresco) {}
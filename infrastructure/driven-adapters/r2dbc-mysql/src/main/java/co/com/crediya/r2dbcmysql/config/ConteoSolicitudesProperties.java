@@ -0,0 +1,10 @@
+package co.com.crediya.r2dbcmysql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.conteo")
+public record ConteoSolicitudesProperties(
+    @DefaultValue("EXACTO") EstrategiaConteo estrategia, @DefaultValue("30s") Duration ttl) {}
@@ -0,0 +1,7 @@
+package co.com.crediya.r2dbcmysql.config;
+
+public enum EstrategiaConteo {
+  EXACTO,
+  CACHEADO,
+  ESTIMADO
+}
@@ -0,0 +1,10 @@
+package co.com.crediya.r2dbcmysql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.historial-solicitudes")
+public record HistorialSolicitudesProperties(
+    @DefaultValue("10000") int maxUsuarios, @DefaultValue("10m") Duration ttl) {}
@@ -1,8 +1,10 @@
 package co.com.crediya.r2dbcmysql.config;
 
+import co.com.crediya.r2dbcmysql.helper.MetricasAdquisicionPool;
 import io.asyncer.r2dbc.mysql.MySqlConnectionConfiguration;
 import io.asyncer.r2dbc.mysql.MySqlConnectionFactory;
 import io.asyncer.r2dbc.mysql.constant.SslMode;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.pool.ConnectionPool;
 import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.spi.ConnectionFactory;
@@ -17,6 +19,7 @@ public class MysqlConnectionPool {
   public static final int MAX_SIZE = 15;
   public static final int MAX_IDLE_TIME = 30;
   public static final int DEFAULT_PORT = 3306;
+  public static final String POOL_NAME = "api-mysql-connection-pool";
 
   public MySqlConnectionConfiguration getConnectionConfig(MysqlConnectionProperties properties) {
     return MySqlConnectionConfiguration.builder()
@@ -29,19 +32,23 @@ public class MysqlConnectionPool {
         .build();
   }
 
-  @Bean
-  public ConnectionPool connectionPool(MysqlConnectionProperties properties) {
+  // Spring Boot etiqueta las métricas del pool con el nombre del bean; al usar POOL_NAME
+  // coinciden con las de r2dbc.pool.acquire
+  @Bean(POOL_NAME)
+  public ConnectionPool connectionPool(
+      MysqlConnectionProperties properties, MeterRegistry meterRegistry) {
     MySqlConnectionConfiguration configuration = getConnectionConfig(properties);
 
     ConnectionFactory connectionFactory = MySqlConnectionFactory.from(configuration);
 
     ConnectionPoolConfiguration poolConfiguration =
         ConnectionPoolConfiguration.builder(connectionFactory)
-            .name("api-mysql-connection-pool")
+            .name(POOL_NAME)
             .initialSize(INITIAL_SIZE)
             .maxSize(MAX_SIZE)
             .maxIdleTime(Duration.ofMinutes(MAX_IDLE_TIME))
             .validationQuery("SELECT 1")
+            .metricsRecorder(new MetricasAdquisicionPool(meterRegistry, POOL_NAME))
             .build();
 
     return new ConnectionPool(poolConfiguration);
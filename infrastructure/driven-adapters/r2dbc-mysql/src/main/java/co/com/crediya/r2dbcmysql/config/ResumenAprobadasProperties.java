@@ -0,0 +1,10 @@
+package co.com.crediya.r2dbcmysql.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "adapters.r2dbc.resumen-aprobadas")
+public record ResumenAprobadasProperties(
+    @DefaultValue("10m") Duration intervaloReconciliacion) {}
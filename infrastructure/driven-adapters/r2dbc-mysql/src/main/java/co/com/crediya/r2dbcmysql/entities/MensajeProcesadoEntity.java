@@ -0,0 +1,24 @@
+package co.com.crediya.r2dbcmysql.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("mensaje_procesado")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class MensajeProcesadoEntity {
+
+  @Id
+  @Column("clave")
+  private String clave;
+
+  @Column("fecha_procesado")
+  private LocalDateTime fechaProcesado;
+}
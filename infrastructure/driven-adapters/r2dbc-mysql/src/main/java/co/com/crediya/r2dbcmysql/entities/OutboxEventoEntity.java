@@ -0,0 +1,37 @@
+package co.com.crediya.r2dbcmysql.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("outbox_evento")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class OutboxEventoEntity {
+
+  @Id
+  @Column("id_evento")
+  private Long idEvento;
+
+  @Column("tipo")
+  private String tipo;
+
+  @Column("id_solicitud")
+  private Long idSolicitud;
+
+  @Column("email")
+  private String email;
+
+  @Column("estado")
+  private String estado;
+
+  @Column("intentos")
+  private Integer intentos;
+
+  @Column("lote")
+  private String lote;
+}
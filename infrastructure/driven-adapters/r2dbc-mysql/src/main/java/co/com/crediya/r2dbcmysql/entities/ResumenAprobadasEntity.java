@@ -0,0 +1,27 @@
+package co.com.crediya.r2dbcmysql.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+@Table("resumen_solicitudes_aprobadas")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ResumenAprobadasEntity {
+
+  @Id
+  @Column("id_resumen")
+  private Integer idResumen;
+
+  @Column("total_solicitudes")
+  private Long totalSolicitudes;
+
+  @Column("monto_total")
+  private BigDecimal montoTotal;
+}
@@ -0,0 +1,42 @@
+package co.com.crediya.r2dbcmysql.entities;
+
+import lombok.*;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class SolicitudDetalleEntity {
+
+  @Column("id_solicitud")
+  private Long idSolicitud;
+
+  private BigDecimal monto;
+
+  private LocalDate plazo;
+
+  private String email;
+
+  @Column("id_user")
+  private String idUser;
+
+  @Column("id_estado")
+  private Long idEstado;
+
+  @Column("id_tipo_prestamo")
+  private Long idTipoPrestamo;
+
+  @Column("nombre_tipo_prestamo")
+  private String nombreTipoPrestamo;
+
+  @Column("tasa_interes")
+  private BigDecimal tasaInteres;
+
+  @Column("nombre_estado")
+  private String nombreEstado;
+}
@@ -0,0 +1,122 @@
+package co.com.crediya.r2dbcmysql.helper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache en memoria para catálogos pequeños (estado, tipo_prestamo). Mantiene una copia completa
+ * del catálogo indexada por id y por nombre, se recarga periódicamente y ante una invalidación
+ * explícita. Las búsquedas que no encuentran el elemento consultan la base de datos.
+ */
+@Slf4j
+public abstract class CatalogoCacheOperations<T> {
+  private final String nombreCatalogo;
+  private final Duration intervaloRefresco;
+  private volatile Snapshot<T> snapshot = new Snapshot<>(Map.of(), Map.of());
+  private Disposable refresco;
+
+  protected CatalogoCacheOperations(String nombreCatalogo, Duration intervaloRefresco) {
+    this.nombreCatalogo = nombreCatalogo;
+    this.intervaloRefresco = intervaloRefresco;
+  }
+
+  protected abstract Flux<T> cargarCatalogo();
+
+  protected abstract Long idDe(T elemento);
+
+  protected abstract String nombreDe(T elemento);
+
+  @PostConstruct
+  public void iniciar() {
+    refresco =
+        Flux.interval(Duration.ZERO, intervaloRefresco)
+            .onBackpressureDrop()
+            .concatMap(tick -> recargar().onErrorResume(error -> Mono.empty()))
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void detener() {
+    if (refresco != null) {
+      refresco.dispose();
+    }
+  }
+
+  public Mono<Void> recargar() {
+    return cargarCatalogo()
+        .collectList()
+        .doOnNext(this::reemplazar)
+        .doOnSuccess(
+            elementos ->
+                log.debug(
+                    "[CATALOGO_CACHE] Catálogo {} recargado con {} elementos",
+                    nombreCatalogo,
+                    elementos.size()))
+        .doOnError(
+            error ->
+                log.error(
+                    "[CATALOGO_CACHE] Error recargando catálogo {}: {}",
+                    nombreCatalogo,
+                    error.getMessage()))
+        .then();
+  }
+
+  protected Mono<T> buscarPorId(Long id, Function<Long, Mono<T>> respaldo) {
+    T elemento = id != null ? snapshot.porId().get(id) : null;
+    if (elemento != null) {
+      return Mono.just(elemento);
+    }
+    return respaldo.apply(id).doOnNext(this::agregar);
+  }
+
+  protected Mono<T> buscarPorNombre(String nombre, Function<String, Mono<T>> respaldo) {
+    T elemento = nombre != null ? snapshot.porNombre().get(normalizar(nombre)) : null;
+    if (elemento != null) {
+      return Mono.just(elemento);
+    }
+    return respaldo.apply(nombre).doOnNext(this::agregar);
+  }
+
+  private synchronized void reemplazar(List<T> elementos) {
+    Map<Long, T> porId = new HashMap<>();
+    Map<String, T> porNombre = new HashMap<>();
+    elementos.forEach(elemento -> indexar(elemento, porId, porNombre));
+    snapshot =
+        new Snapshot<>(Collections.unmodifiableMap(porId), Collections.unmodifiableMap(porNombre));
+  }
+
+  private synchronized void agregar(T elemento) {
+    Map<Long, T> porId = new HashMap<>(snapshot.porId());
+    Map<String, T> porNombre = new HashMap<>(snapshot.porNombre());
+    indexar(elemento, porId, porNombre);
+    snapshot =
+        new Snapshot<>(Collections.unmodifiableMap(porId), Collections.unmodifiableMap(porNombre));
+  }
+
+  private void indexar(T elemento, Map<Long, T> porId, Map<String, T> porNombre) {
+    if (idDe(elemento) != null) {
+      porId.put(idDe(elemento), elemento);
+    }
+    if (nombreDe(elemento) != null) {
+      porNombre.put(normalizar(nombreDe(elemento)), elemento);
+    }
+  }
+
+  private String normalizar(String nombre) {
+    return nombre.toLowerCase(Locale.ROOT);
+  }
+
+  private record Snapshot<T>(Map<Long, T> porId, Map<String, T> porNombre) {}
+}
@@ -0,0 +1,59 @@
+package co.com.crediya.r2dbcmysql.helper;
+
+import co.com.crediya.r2dbcmysql.SolicitudReactiveRepository;
+import co.com.crediya.r2dbcmysql.config.ConteoSolicitudesProperties;
+import co.com.crediya.r2dbcmysql.config.EstrategiaConteo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Resuelve el total de solicitudes para la paginación según la estrategia configurada: conteo
+ * exacto en cada consulta, conteo exacto reutilizado durante un TTL o estimación a partir de las
+ * estadísticas de la tabla.
+ */
+@Component
+@Slf4j
+public class ConteoSolicitudes {
+  private final SolicitudReactiveRepository repository;
+  private final EstrategiaConteo estrategia;
+  private final Mono<Conteo> conteoCacheado;
+
+  public ConteoSolicitudes(
+      SolicitudReactiveRepository repository, ConteoSolicitudesProperties properties) {
+    this.repository = repository;
+    this.estrategia = properties.estrategia();
+    // El valor reutilizado puede haber cambiado desde que se calculó, por eso no se marca exacto
+    this.conteoCacheado =
+        repository
+            .count()
+            .map(total -> new Conteo(total, false))
+            .cache(conteo -> properties.ttl(), error -> Duration.ZERO, () -> Duration.ZERO);
+    log.info(
+        "[CONTEO_SOLICITUDES] Estrategia de conteo: {}, ttl: {}", estrategia, properties.ttl());
+  }
+
+  public Mono<Conteo> contar() {
+    return switch (estrategia) {
+      case EXACTO -> contarExacto();
+      case CACHEADO -> conteoCacheado;
+      case ESTIMADO -> estimar();
+    };
+  }
+
+  private Mono<Conteo> contarExacto() {
+    return repository.count().map(total -> new Conteo(total, true));
+  }
+
+  private Mono<Conteo> estimar() {
+    // Si la tabla aún no tiene estadísticas se recurre al conteo exacto
+    return repository
+        .estimarTotalSolicitudes()
+        .map(total -> new Conteo(total, false))
+        .switchIfEmpty(Mono.defer(this::contarExacto));
+  }
+
+  public record Conteo(long total, boolean exacto) {}
+}
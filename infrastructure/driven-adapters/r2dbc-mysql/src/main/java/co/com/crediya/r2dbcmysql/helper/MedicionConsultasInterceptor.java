@@ -0,0 +1,95 @@
+package co.com.crediya.r2dbcmysql.helper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cada consulta de un repositorio reactivo desde la suscripción hasta su terminación y la
+ * publica como {@code r2dbc.query} con los tags repositorio, metodo y resultado. Las consultas que
+ * superan el umbral configurado se registran en el log.
+ */
+@Slf4j
+public class MedicionConsultasInterceptor implements MethodInterceptor {
+  private final MeterRegistry registry;
+  private final String repositorio;
+  private final long umbralConsultaLentaNanos;
+  private final Map<Method, TimersMetodo> timers = new ConcurrentHashMap<>();
+
+  public MedicionConsultasInterceptor(
+      MeterRegistry registry, String repositorio, Duration umbralConsultaLenta) {
+    this.registry = registry;
+    this.repositorio = repositorio;
+    this.umbralConsultaLentaNanos = umbralConsultaLenta.toNanos();
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Object resultado = invocation.proceed();
+    Method metodo = invocation.getMethod();
+    if (resultado instanceof Mono<?> mono) {
+      return Mono.defer(
+          () -> {
+            long inicio = System.nanoTime();
+            return mono.doFinally(senal -> registrar(metodo, senal, inicio));
+          });
+    }
+    if (resultado instanceof Flux<?> flux) {
+      return Flux.defer(
+          () -> {
+            long inicio = System.nanoTime();
+            return flux.doFinally(senal -> registrar(metodo, senal, inicio));
+          });
+    }
+    return resultado;
+  }
+
+  private void registrar(Method metodo, SignalType senal, long inicio) {
+    long duracion = System.nanoTime() - inicio;
+    TimersMetodo timersMetodo = timers.computeIfAbsent(metodo, this::crearTimers);
+    timersMetodo.de(senal).record(duracion, TimeUnit.NANOSECONDS);
+    if (duracion > umbralConsultaLentaNanos) {
+      log.warn(
+          "[CONSULTA_LENTA] {}.{} tardó {} ms (resultado: {})",
+          repositorio,
+          metodo.getName(),
+          TimeUnit.NANOSECONDS.toMillis(duracion),
+          senal);
+    }
+  }
+
+  private TimersMetodo crearTimers(Method metodo) {
+    return new TimersMetodo(
+        crearTimer(metodo, "exito"), crearTimer(metodo, "error"), crearTimer(metodo, "cancelada"));
+  }
+
+  private Timer crearTimer(Method metodo, String resultado) {
+    return Timer.builder("r2dbc.query")
+        .tag("repositorio", repositorio)
+        .tag("metodo", metodo.getName())
+        .tag("resultado", resultado)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private record TimersMetodo(Timer exito, Timer error, Timer cancelada) {
+    private Timer de(SignalType senal) {
+      return switch (senal) {
+        case ON_ERROR -> error;
+        case CANCEL -> cancelada;
+        default -> exito;
+      };
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package co.com.crediya.r2dbcmysql.helper;
+
+import co.com.crediya.r2dbcmysql.EstadoReactiveRepository;
+import co.com.crediya.r2dbcmysql.SolicitudReactiveRepository;
+import co.com.crediya.r2dbcmysql.TipoPrestamoReactiveRepository;
+import co.com.crediya.r2dbcmysql.config.MetricasR2dbcProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Envuelve los repositorios reactivos con {@link MedicionConsultasInterceptor} para medir cada
+ * consulta por método. Las dependencias se resuelven de forma diferida porque los
+ * post-procesadores se crean antes que el resto de beans.
+ */
+@Component
+public class MedicionRepositoriosPostProcessor implements BeanPostProcessor {
+  private static final List<Class<?>> REPOSITORIOS_MEDIDOS =
+      List.of(
+          SolicitudReactiveRepository.class,
+          EstadoReactiveRepository.class,
+          TipoPrestamoReactiveRepository.class);
+
+  private final ObjectProvider<MeterRegistry> registry;
+  private final ObjectProvider<MetricasR2dbcProperties> properties;
+
+  public MedicionRepositoriosPostProcessor(
+      ObjectProvider<MeterRegistry> registry,
+      ObjectProvider<MetricasR2dbcProperties> properties) {
+    this.registry = registry;
+    this.properties = properties;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    for (Class<?> repositorio : REPOSITORIOS_MEDIDOS) {
+      if (repositorio.isInstance(bean)) {
+        return medir(bean, repositorio);
+      }
+    }
+    return bean;
+  }
+
+  private Object medir(Object bean, Class<?> repositorio) {
+    MeterRegistry meterRegistry = registry.getIfAvailable();
+    if (meterRegistry == null) {
+      return bean;
+    }
+    ProxyFactory proxyFactory = new ProxyFactory(bean);
+    proxyFactory.setInterfaces(repositorio);
+    proxyFactory.addAdvice(
+        new MedicionConsultasInterceptor(
+            meterRegistry,
+            repositorio.getSimpleName(),
+            properties.getObject().umbralConsultaLenta()));
+    return proxyFactory.getProxy(repositorio.getClassLoader());
+  }
+}
@@ -0,0 +1,67 @@
+package co.com.crediya.r2dbcmysql.helper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.pool.PoolMetricsRecorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica el tiempo que una petición espera para obtener una conexión del pool como
+ * {@code r2dbc.pool.acquire}. La ocupación del pool (adquiridas, ociosas, pendientes) ya la
+ * publica Spring Boot, por eso el resto de eventos del pool se ignoran.
+ */
+public class MetricasAdquisicionPool implements PoolMetricsRecorder {
+  private final Timer adquisicionExitosa;
+  private final Timer adquisicionFallida;
+
+  public MetricasAdquisicionPool(MeterRegistry registry, String nombre) {
+    this.adquisicionExitosa = timerAdquisicion(registry, nombre, "exito");
+    this.adquisicionFallida = timerAdquisicion(registry, nombre, "error");
+  }
+
+  @Override
+  public void recordPendingSuccessAndLatency(long latencyMs) {
+    adquisicionExitosa.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordPendingFailureAndLatency(long latencyMs) {
+    adquisicionFallida.record(latencyMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void recordAllocationSuccessAndLatency(long latencyMs) {}
+
+  @Override
+  public void recordAllocationFailureAndLatency(long latencyMs) {}
+
+  @Override
+  public void recordResetLatency(long latencyMs) {}
+
+  @Override
+  public void recordDestroyLatency(long latencyMs) {}
+
+  @Override
+  public void recordRecycled() {}
+
+  @Override
+  public void recordLifetimeDuration(long millisecondsSinceAllocation) {}
+
+  @Override
+  public void recordIdleTime(long millisecondsIdle) {}
+
+  @Override
+  public void recordSlowPath() {}
+
+  @Override
+  public void recordFastPath() {}
+
+  private static Timer timerAdquisicion(MeterRegistry registry, String nombre, String resultado) {
+    return Timer.builder("r2dbc.pool.acquire")
+        .tag("name", nombre)
+        .tag("resultado", resultado)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+}
@@ -1,6 +1,8 @@
 package co.com.crediya.r2dbcmysql.mapper;
 
 import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import co.com.crediya.r2dbcmysql.entities.SolicitudDetalleEntity;
 import co.com.crediya.r2dbcmysql.entities.SolicitudEntity;
 import org.springframework.stereotype.Component;
 
@@ -28,4 +30,18 @@ public class SolicitudEntityMapper {
         entity.getIdTipoPrestamo(),
         entity.getIdEstado());
   }
+
+  public SolicitudDetalle toDetalle(SolicitudDetalleEntity entity) {
+    Solicitud solicitud =
+        Solicitud.fromDatabase(
+            entity.getIdSolicitud(),
+            entity.getIdUser(),
+            entity.getEmail(),
+            entity.getMonto(),
+            entity.getPlazo(),
+            entity.getIdTipoPrestamo(),
+            entity.getIdEstado());
+    return new SolicitudDetalle(
+        solicitud, entity.getNombreTipoPrestamo(), entity.getTasaInteres(), entity.getNombreEstado());
+  }
 }
@@ -0,0 +1,169 @@
+package co.com.crediya.r2dbcmysql;
+
+import co.com.crediya.model.solicitud.Estado;
+import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
+import co.com.crediya.r2dbcmysql.config.HistorialSolicitudesProperties;
+import co.com.crediya.r2dbcmysql.entities.SolicitudDetalleEntity;
+import co.com.crediya.r2dbcmysql.mapper.SolicitudEntityMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistorialSolicitudesCacheAdapterTest {
+  private static final String ID_USER = "123";
+
+  @Mock private SolicitudReactiveRepository repository;
+
+  private HistorialSolicitudesCacheAdapter adapter;
+
+  @BeforeEach
+  void setUp() {
+    adapter = crearAdapter(Duration.ofMinutes(10));
+  }
+
+  @Test
+  @DisplayName("Debe reutilizar el historial mientras la huella no cambie")
+  void debeReutilizarHistorialConMismaHuella() {
+    // Arrange
+    when(repository.calcularHuellaPorIdUser(ID_USER)).thenReturn(Mono.just("1:10"));
+    when(repository.findDetallesPorIdUser(ID_USER))
+        .thenReturn(Flux.just(fila(1L, 1L, "Pendiente")));
+
+    // Act
+    adapter.obtenerPorIdUser(ID_USER).block();
+    StepVerifier.create(adapter.obtenerPorIdUser(ID_USER))
+        .expectNextMatches(historial -> historial.size() == 1)
+        .verifyComplete();
+
+    // Assert
+    verify(repository, times(1)).findDetallesPorIdUser(ID_USER);
+  }
+
+  @Test
+  @DisplayName("Debe recargar el historial cuando otra instancia cambia un estado")
+  void debeRecargarCuandoCambiaLaHuella() {
+    // Arrange
+    when(repository.calcularHuellaPorIdUser(ID_USER))
+        .thenReturn(Mono.just("1:10"), Mono.just("1:20"));
+    when(repository.findDetallesPorIdUser(ID_USER))
+        .thenReturn(Flux.just(fila(1L, 1L, "Pendiente")), Flux.just(fila(1L, 2L, "Aprobada")));
+
+    // Act
+    adapter.obtenerPorIdUser(ID_USER).block();
+
+    // Assert
+    StepVerifier.create(adapter.obtenerPorIdUser(ID_USER))
+        .expectNextMatches(historial -> "Aprobada".equals(historial.get(0).nombreEstado()))
+        .verifyComplete();
+    verify(repository, times(2)).findDetallesPorIdUser(ID_USER);
+  }
+
+  @Test
+  @DisplayName("Debe descartar el historial al registrar una solicitud nueva")
+  void registrarDebeDescartarHistorial() {
+    // Arrange
+    when(repository.calcularHuellaPorIdUser(ID_USER)).thenReturn(Mono.just("1:10"));
+    when(repository.findDetallesPorIdUser(ID_USER))
+        .thenReturn(
+            Flux.just(fila(1L, 1L, "Pendiente")),
+            Flux.just(fila(1L, 1L, "Pendiente"), fila(2L, 1L, "Pendiente")));
+    adapter.obtenerPorIdUser(ID_USER).block();
+    SolicitudDetalle nueva =
+        new SolicitudDetalle(solicitud(2L, 1L), "Personal", new BigDecimal("12"), "Pendiente");
+
+    // Act
+    StepVerifier.create(adapter.registrar(nueva)).verifyComplete();
+
+    // Assert
+    StepVerifier.create(adapter.obtenerPorIdUser(ID_USER))
+        .expectNextMatches(historial -> historial.size() == 2)
+        .verifyComplete();
+    verify(repository, times(2)).findDetallesPorIdUser(ID_USER);
+  }
+
+  @Test
+  @DisplayName("Debe descartar el historial al actualizar el estado de una solicitud")
+  void actualizarEstadoDebeDescartarHistorial() {
+    // Arrange
+    when(repository.calcularHuellaPorIdUser(ID_USER)).thenReturn(Mono.just("1:10"));
+    when(repository.findDetallesPorIdUser(ID_USER))
+        .thenReturn(Flux.just(fila(1L, 1L, "Pendiente")), Flux.just(fila(1L, 2L, "Aprobada")));
+    adapter.obtenerPorIdUser(ID_USER).block();
+
+    // Act
+    StepVerifier.create(
+            adapter.actualizarEstado(solicitud(1L, 1L), new Estado(2L, "Aprobada", "desc")))
+        .verifyComplete();
+
+    // Assert
+    StepVerifier.create(adapter.obtenerPorIdUser(ID_USER))
+        .expectNextMatches(historial -> "Aprobada".equals(historial.get(0).nombreEstado()))
+        .verifyComplete();
+    verify(repository, times(2)).findDetallesPorIdUser(ID_USER);
+  }
+
+  @Test
+  @DisplayName("Debe recargar el historial cuando vence el TTL")
+  void debeRecargarHistorialVencido() throws InterruptedException {
+    // Arrange
+    adapter = crearAdapter(Duration.ofMillis(1));
+    when(repository.calcularHuellaPorIdUser(ID_USER)).thenReturn(Mono.just("1:10"));
+    when(repository.findDetallesPorIdUser(ID_USER))
+        .thenAnswer(invocacion -> Flux.just(fila(1L, 1L, "Pendiente")));
+    adapter.obtenerPorIdUser(ID_USER).block();
+
+    // Act
+    Thread.sleep(10);
+    adapter.obtenerPorIdUser(ID_USER).block();
+
+    // Assert
+    verify(repository, times(2)).findDetallesPorIdUser(ID_USER);
+  }
+
+  private HistorialSolicitudesCacheAdapter crearAdapter(Duration ttl) {
+    return new HistorialSolicitudesCacheAdapter(
+        repository, new SolicitudEntityMapper(), new HistorialSolicitudesProperties(100, ttl));
+  }
+
+  private static SolicitudDetalleEntity fila(Long idSolicitud, Long idEstado, String estado) {
+    return SolicitudDetalleEntity.builder()
+        .idSolicitud(idSolicitud)
+        .monto(BigDecimal.TEN)
+        .plazo(LocalDate.now().plusMonths(12))
+        .email("mail@test.com")
+        .idUser(ID_USER)
+        .idEstado(idEstado)
+        .idTipoPrestamo(1L)
+        .nombreTipoPrestamo("Personal")
+        .tasaInteres(new BigDecimal("12"))
+        .nombreEstado(estado)
+        .build();
+  }
+
+  private static Solicitud solicitud(Long idSolicitud, Long idEstado) {
+    return Solicitud.fromDatabase(
+        idSolicitud,
+        ID_USER,
+        "mail@test.com",
+        BigDecimal.TEN,
+        LocalDate.now().plusMonths(12),
+        1L,
+        idEstado);
+  }
+}
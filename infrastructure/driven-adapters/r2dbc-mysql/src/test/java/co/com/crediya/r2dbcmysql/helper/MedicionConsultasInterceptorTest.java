@@ -0,0 +1,120 @@
+package co.com.crediya.r2dbcmysql.helper;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(OutputCaptureExtension.class)
+class MedicionConsultasInterceptorTest {
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  @DisplayName("Debe registrar la consulta con los tags de repositorio, método y resultado")
+  void debeRegistrarConsultaConTags() throws Throwable {
+    // Arrange
+    MedicionConsultasInterceptor interceptor =
+        new MedicionConsultasInterceptor(registry, "RepositorioPrueba", Duration.ofSeconds(1));
+    MethodInvocation buscar = invocacion("buscar", Mono.just("solicitud"));
+    MethodInvocation listar = invocacion("listar", Flux.error(new IllegalStateException("bd")));
+
+    // Act
+    StepVerifier.create((Mono<?>) interceptor.invoke(buscar)).expectNextCount(1).verifyComplete();
+    StepVerifier.create((Flux<?>) interceptor.invoke(listar))
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    // Assert
+    assertEquals(1, timer("buscar", "exito").count());
+    assertEquals(0, timer("buscar", "error").count());
+    assertEquals(1, timer("listar", "error").count());
+  }
+
+  @Test
+  @DisplayName("Debe registrar en el log solo las consultas que superan el umbral")
+  void debeRegistrarConsultasLentas(CapturedOutput salida) throws Throwable {
+    // Arrange
+    MedicionConsultasInterceptor interceptor =
+        new MedicionConsultasInterceptor(registry, "RepositorioPrueba", Duration.ofMillis(300));
+    MethodInvocation rapida = invocacion("buscar", Mono.just("solicitud"));
+    // La espera ocurre en el hilo del test para que el log se escriba antes de verificarlo
+    MethodInvocation lenta =
+        invocacion("listar", Flux.just("solicitud").doOnNext(solicitud -> esperar(500)));
+
+    // Act
+    StepVerifier.create((Mono<?>) interceptor.invoke(rapida)).expectNextCount(1).verifyComplete();
+    boolean rapidaRegistrada = salida.getOut().contains("[CONSULTA_LENTA]");
+    StepVerifier.create((Flux<?>) interceptor.invoke(lenta)).expectNextCount(1).verifyComplete();
+
+    // Assert
+    assertFalse(rapidaRegistrada);
+    assertTrue(salida.getOut().contains("[CONSULTA_LENTA] RepositorioPrueba.listar"));
+    assertEquals(1, timer("listar", "exito").count());
+  }
+
+  @Test
+  @DisplayName("Debe medir desde la suscripción y no desde la creación del publisher")
+  void debeMedirDesdeLaSuscripcion(CapturedOutput salida) throws Throwable {
+    // Arrange
+    MedicionConsultasInterceptor interceptor =
+        new MedicionConsultasInterceptor(registry, "RepositorioPrueba", Duration.ofMillis(300));
+    Mono<?> consulta = (Mono<?>) interceptor.invoke(invocacion("buscar", Mono.just("solicitud")));
+
+    // Act
+    Thread.sleep(500);
+    StepVerifier.create(consulta).expectNextCount(1).verifyComplete();
+
+    // Assert
+    assertFalse(salida.getOut().contains("[CONSULTA_LENTA]"));
+    assertEquals(1, timer("buscar", "exito").count());
+  }
+
+  private Timer timer(String metodo, String resultado) {
+    return registry
+        .get("r2dbc.query")
+        .tags("repositorio", "RepositorioPrueba", "metodo", metodo, "resultado", resultado)
+        .timer();
+  }
+
+  private static void esperar(long milisegundos) {
+    try {
+      Thread.sleep(milisegundos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static MethodInvocation invocacion(String metodo, Object resultado) throws Throwable {
+    MethodInvocation invocacion = mock(MethodInvocation.class);
+    when(invocacion.getMethod()).thenReturn(RepositorioPrueba.class.getMethod(metodo));
+    when(invocacion.proceed()).thenReturn(resultado);
+    return invocacion;
+  }
+
+  private interface RepositorioPrueba {
+    Mono<String> buscar();
+
+    Flux<String> listar();
+  }
+}
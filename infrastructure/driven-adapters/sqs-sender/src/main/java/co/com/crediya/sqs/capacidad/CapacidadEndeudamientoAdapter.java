@@ -1,34 +1,31 @@
 package co.com.crediya.sqs.capacidad;
 
-import co.com.crediya.model.solicitud.Estado;
 import co.com.crediya.model.solicitud.Solicitud;
-import co.com.crediya.model.solicitud.TipoPrestamo;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
 import co.com.crediya.model.solicitud.gateways.CapacidadEndeudamientoGateway;
-import co.com.crediya.model.solicitud.gateways.EstadoRepository;
-import co.com.crediya.model.solicitud.gateways.SolicitudRepository;
-import co.com.crediya.model.solicitud.gateways.TipoPrestamoRepository;
 import co.com.crediya.model.usuario.Usuario;
 import co.com.crediya.sqs.sender.SQSSender;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Slf4j
 public class CapacidadEndeudamientoAdapter implements CapacidadEndeudamientoGateway {
 
   private final SQSSender sqsSender;
-  private final SolicitudRepository solicitudRepository;
-  private final TipoPrestamoRepository tipoPrestamoRepository;
-  private final EstadoRepository estadoRepository;
 
   @Override
   public Mono<String> enviarSolicitudCapacidadEndeudamiento(
-      Usuario usuario, Solicitud solicitud, List<Solicitud> solicitudes, Long idSolicitudActual) {
-    return crearMensajeCapacidadEndeudamientoReactive(usuario, solicitudes, idSolicitudActual)
+      Usuario usuario,
+      Solicitud solicitud,
+      List<SolicitudDetalle> solicitudes,
+      Long idSolicitudActual) {
+    return Mono.fromCallable(
+            () -> crearMensajeCapacidadEndeudamiento(usuario, solicitudes, idSolicitudActual))
         .doOnNext(
             mensaje ->
                 log.info(
@@ -54,83 +51,67 @@ public class CapacidadEndeudamientoAdapter implements CapacidadEndeudamientoGate
                     ex.getMessage()));
   }
 
-  private Mono<String> crearMensajeCapacidadEndeudamientoReactive(
-      Usuario usuario, List<Solicitud> solicitudes, Long idSolicitudActual) {
-    return Flux.fromIterable(solicitudes)
-        .flatMap(
-            solicitud ->
-                Mono.zip(
-                        tipoPrestamoRepository.findById(solicitud.getIdTipoPrestamo()),
-                        estadoRepository.findById(solicitud.getIdEstado()))
-                    .map(
-                        tuple -> {
-                          TipoPrestamo tipoPrestamo = tuple.getT1();
-                          Estado estado = tuple.getT2();
-                          return String.format(
-                              """
-                        {
-                            "id": %d,
-                            "idUser": "%s",
-                            "email": "%s",
-                            "monto": %.2f,
-                            "plazo": "%s",
-                            "tipoPrestamo": "%s",
-                            "estado": "%s",
-                            "tasaInteres": %.2f,
-                            "deudaTotalMensual": %.2f
-                        }""",
-                              solicitud.getIdSolicitud(),
-                              escapeJson(solicitud.getIdUser()),
-                              escapeJson(solicitud.getEmail()),
-                              solicitud.getMonto().doubleValue(),
-                              solicitud.getPlazo().toString(),
-                              escapeJson(tipoPrestamo.getNombre()),
-                              escapeJson(estado.getNombre()),
-                              tipoPrestamo.getTasaInteres().doubleValue(),
-                              solicitud
-                                  .calcularDeudaTotalMensual(tipoPrestamo.getTasaInteres())
-                                  .doubleValue());
-                        }))
-        .collectList()
-        .map(
-            solicitudesJsonList -> {
-              StringBuilder solicitudesJson = new StringBuilder("[");
-              for (int i = 0; i < solicitudesJsonList.size(); i++) {
-                solicitudesJson.append(solicitudesJsonList.get(i));
-                if (i < solicitudesJsonList.size() - 1) {
-                  solicitudesJson.append(",");
-                }
+  private String crearMensajeCapacidadEndeudamiento(
+      Usuario usuario, List<SolicitudDetalle> solicitudes, Long idSolicitudActual) {
+    // Los detalles ya traen el tipo de préstamo y el estado, no se consultan los catálogos
+    String solicitudesJson =
+        solicitudes.stream()
+            .map(this::crearMensajeSolicitud)
+            .collect(Collectors.joining(",", "[", "]"));
+
+    return String.format(
+        """
+              {
+                  "datosUsuario": {
+                      "idUsuario": %d,
+                      "nombre": "%s",
+                      "apellido": "%s",
+                      "email": "%s",
+                      "documentoIdentidad": "%s",
+                      "telefono": "%s",
+                      "rol": "%s",
+                      "salarioBase": %.2f
+                  },
+                  "datosSolicitudes": %s,
+                  "idSolicitud": %d
               }
-              solicitudesJson.append("]");
+              """,
+        usuario.getIdUsuario(),
+        escapeJson(usuario.getNombre()),
+        escapeJson(usuario.getApellido()),
+        escapeJson(usuario.getEmail()),
+        escapeJson(usuario.getDocumentoIdentidad()),
+        escapeJson(usuario.getTelefono()),
+        escapeJson(usuario.getRol()),
+        usuario.getSalarioBase() != null ? usuario.getSalarioBase().doubleValue() : 0.0,
+        solicitudesJson,
+        idSolicitudActual);
+  }
 
-              return String.format(
-                  """
-                        {
-                            "datosUsuario": {
-                                "idUsuario": %d,
-                                "nombre": "%s",
-                                "apellido": "%s",
-                                "email": "%s",
-                                "documentoIdentidad": "%s",
-                                "telefono": "%s",
-                                "rol": "%s",
-                                "salarioBase": %.2f
-                            },
-                            "datosSolicitudes": %s,
-                            "idSolicitud": %d
-                        }
-                        """,
-                  usuario.getIdUsuario(),
-                  escapeJson(usuario.getNombre()),
-                  escapeJson(usuario.getApellido()),
-                  escapeJson(usuario.getEmail()),
-                  escapeJson(usuario.getDocumentoIdentidad()),
-                  escapeJson(usuario.getTelefono()),
-                  escapeJson(usuario.getRol()),
-                  usuario.getSalarioBase() != null ? usuario.getSalarioBase().doubleValue() : 0.0,
-                  solicitudesJson.toString(),
-                  idSolicitudActual);
-            });
+  private String crearMensajeSolicitud(SolicitudDetalle detalle) {
+    Solicitud solicitud = detalle.solicitud();
+    return String.format(
+        """
+              {
+                  "id": %d,
+                  "idUser": "%s",
+                  "email": "%s",
+                  "monto": %.2f,
+                  "plazo": "%s",
+                  "tipoPrestamo": "%s",
+                  "estado": "%s",
+                  "tasaInteres": %.2f,
+                  "deudaTotalMensual": %.2f
+              }""",
+        solicitud.getIdSolicitud(),
+        escapeJson(solicitud.getIdUser()),
+        escapeJson(solicitud.getEmail()),
+        solicitud.getMonto().doubleValue(),
+        solicitud.getPlazo().toString(),
+        escapeJson(detalle.nombreTipoPrestamo()),
+        escapeJson(detalle.nombreEstado()),
+        detalle.tasaInteres().doubleValue(),
+        detalle.calcularDeudaTotalMensual().doubleValue());
   }
 
   private String escapeJson(String value) {
@@ -0,0 +1,203 @@
+package co.com.crediya.sqs.sender;
+
+import co.com.crediya.sqs.sender.config.SQSSenderProperties;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa los mensajes por cola y los envía con SendMessageBatch cuando se completan los entries
+ * configurados o vence el tiempo de espera. Cada mensaje recibe su propio resultado y las entradas
+ * que fallan por causas transitorias se reintentan. Si la suscripción de una cola termina, los
+ * mensajes que tenía en espera fallan y la cola se vuelve a crear con el siguiente envío.
+ */
+@Service
+@Log4j2
+public class SQSBatchSender implements DisposableBean {
+  // Límites de SQS para la cantidad de entries y el tamaño total de los mensajes de un lote
+  private static final int MAX_ENTRIES_LOTE = 10;
+  private static final int MAX_BYTES_LOTE = 256 * 1024;
+
+  private final SQSSenderProperties.Batch properties;
+  private final SqsAsyncClient client;
+  private final Map<String, Cola> colas = new ConcurrentHashMap<>();
+
+  public SQSBatchSender(
+      SQSSenderProperties properties, @Qualifier("sqsSenderClient") SqsAsyncClient client) {
+    if (properties.batch().maxEntries() < 1
+        || properties.batch().maxEntries() > MAX_ENTRIES_LOTE) {
+      throw new IllegalArgumentException(
+          String.format(
+              "adapter.sqs.batch.maxEntries debe estar entre 1 y %d, valor: %d",
+              MAX_ENTRIES_LOTE, properties.batch().maxEntries()));
+    }
+    this.properties = properties.batch();
+    this.client = client;
+  }
+
+  public Mono<String> send(SendMessageBatchRequestEntry entry, String queueUrl) {
+    return Mono.defer(
+        () -> {
+          Pendiente pendiente = new Pendiente(entry, Sinks.one(), 1);
+          encolar(queueUrl, pendiente);
+          return pendiente.resultado().asMono().timeout(properties.timeout());
+        });
+  }
+
+  @Override
+  public void destroy() {
+    colas.values().forEach(cola -> cola.suscripcion().dispose());
+  }
+
+  private void encolar(String queueUrl, Pendiente pendiente) {
+    Cola cola = colas.computeIfAbsent(queueUrl, this::crearCola);
+    if (cola.encolar(pendiente)) {
+      return;
+    }
+    // La cola terminó entre la búsqueda y la emisión: se descarta y se intenta con una nueva
+    colas.remove(queueUrl, cola);
+    if (!colas.computeIfAbsent(queueUrl, this::crearCola).encolar(pendiente)) {
+      pendiente.resultado().tryEmitError(new IllegalStateException("SQS batch queue terminated"));
+    }
+  }
+
+  private Cola crearCola(String queueUrl) {
+    Sinks.Many<Pendiente> sink = Sinks.many().unicast().onBackpressureBuffer();
+    Disposable suscripcion =
+        sink.asFlux()
+            .bufferTimeout(properties.maxEntries(), properties.linger(), true)
+            .flatMap(lote -> enviarLote(queueUrl, lote), properties.concurrency())
+            .doOnError(
+                error ->
+                    log.error("SQS batch queue {} terminated: {}", queueUrl, error.getMessage()))
+            // Una cola terminada se retira para que el siguiente envío cree una nueva
+            .doFinally(
+                senal -> colas.computeIfPresent(queueUrl, (url, c) -> c.sink() == sink ? null : c))
+            .doOnDiscard(Object.class, SQSBatchSender::fallarDescartado)
+            .subscribe(lote -> {}, error -> {});
+    return new Cola(sink, suscripcion);
+  }
+
+  private static void fallarDescartado(Object descartado) {
+    if (descartado instanceof Pendiente pendiente) {
+      pendiente.resultado().tryEmitError(new IllegalStateException("SQS batch queue terminated"));
+    } else if (descartado instanceof Collection<?> pendientes) {
+      pendientes.forEach(SQSBatchSender::fallarDescartado);
+    }
+  }
+
+  private Mono<Void> enviarLote(String queueUrl, List<Pendiente> lote) {
+    return Mono.defer(
+        () -> {
+          List<List<Pendiente>> particiones = particionarPorTamanio(lote);
+          return Flux.fromIterable(particiones)
+              .flatMap(particion -> enviarParticion(queueUrl, particion))
+              .then();
+        });
+  }
+
+  private Mono<Void> enviarParticion(String queueUrl, List<Pendiente> lote) {
+    List<SendMessageBatchRequestEntry> entries = new ArrayList<>(lote.size());
+    for (int i = 0; i < lote.size(); i++) {
+      entries.add(lote.get(i).entry().toBuilder().id(String.valueOf(i)).build());
+    }
+    SendMessageBatchRequest request =
+        SendMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build();
+
+    return Mono.fromFuture(() -> client.sendMessageBatch(request))
+        .doOnNext(response -> procesarRespuesta(queueUrl, lote, response))
+        .doOnError(
+            error -> {
+              log.warn("Error sending batch of {} messages: {}", lote.size(), error.getMessage());
+              lote.forEach(pendiente -> reintentarOFallar(queueUrl, pendiente, error));
+            })
+        .onErrorResume(error -> Mono.empty())
+        .then();
+  }
+
+  private void procesarRespuesta(
+      String queueUrl, List<Pendiente> lote, SendMessageBatchResponse response) {
+    for (SendMessageBatchResultEntry exitoso : response.successful()) {
+      Pendiente pendiente = lote.get(Integer.parseInt(exitoso.id()));
+      log.debug("Message sent {}", exitoso.messageId());
+      pendiente.resultado().tryEmitValue(exitoso.messageId());
+    }
+    for (BatchResultErrorEntry fallido : response.failed()) {
+      Pendiente pendiente = lote.get(Integer.parseInt(fallido.id()));
+      IllegalStateException error =
+          new IllegalStateException(
+              String.format("SQS rejected message: %s - %s", fallido.code(), fallido.message()));
+      if (Boolean.TRUE.equals(fallido.senderFault())) {
+        // Los errores del emisor (mensaje inválido) no se resuelven reintentando
+        pendiente.resultado().tryEmitError(error);
+      } else {
+        reintentarOFallar(queueUrl, pendiente, error);
+      }
+    }
+  }
+
+  private void reintentarOFallar(String queueUrl, Pendiente pendiente, Throwable error) {
+    if (pendiente.intento() >= properties.maxAttempts()) {
+      pendiente.resultado().tryEmitError(error);
+      return;
+    }
+    Pendiente reintento =
+        new Pendiente(pendiente.entry(), pendiente.resultado(), pendiente.intento() + 1);
+    // Se reencola desde otro hilo para no emitir dentro del procesamiento de la misma cola
+    Mono.delay(properties.linger().multipliedBy(reintento.intento()))
+        .subscribe(tick -> encolar(queueUrl, reintento));
+  }
+
+  private List<List<Pendiente>> particionarPorTamanio(List<Pendiente> lote) {
+    List<List<Pendiente>> particiones = new ArrayList<>();
+    List<Pendiente> actual = new ArrayList<>();
+    int bytesActual = 0;
+    for (Pendiente pendiente : lote) {
+      int bytes = pendiente.entry().messageBody().getBytes(StandardCharsets.UTF_8).length;
+      if (!actual.isEmpty() && bytesActual + bytes > MAX_BYTES_LOTE) {
+        particiones.add(actual);
+        actual = new ArrayList<>();
+        bytesActual = 0;
+      }
+      actual.add(pendiente);
+      bytesActual += bytes;
+    }
+    if (!actual.isEmpty()) {
+      particiones.add(actual);
+    }
+    return particiones;
+  }
+
+  private record Pendiente(
+      SendMessageBatchRequestEntry entry, Sinks.One<String> resultado, int intento) {}
+
+  private record Cola(Sinks.Many<Pendiente> sink, Disposable suscripcion) {
+    boolean encolar(Pendiente pendiente) {
+      Sinks.EmitResult resultado = sink.tryEmitNext(pendiente);
+      // Solo se reintenta la emisión concurrente; una cola terminada o cancelada no se recupera
+      while (resultado == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+        Thread.onSpinWait();
+        resultado = sink.tryEmitNext(pendiente);
+      }
+      return resultado.isSuccess();
+    }
+  }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
@@ -20,12 +21,17 @@ import java.security.NoSuchAlgorithmException;
 public class SQSSender /*implements SomeGateway*/ {
   private final SQSSenderProperties properties;
   private final @Qualifier("sqsSenderClient") SqsAsyncClient client;
+  private final SQSBatchSender batchSender;
 
   public Mono<String> send(String message) {
     return send(message, properties.queueUrl());
   }
 
   public Mono<String> send(String message, String queueUrl) {
+    if (properties.batch().enabled()) {
+      return Mono.fromCallable(() -> buildBatchEntry(message, queueUrl))
+          .flatMap(entry -> batchSender.send(entry, queueUrl));
+    }
     return Mono.fromCallable(() -> buildRequest(message, queueUrl))
         .flatMap(request -> Mono.fromFuture(client.sendMessage(request)))
         .doOnNext(response -> log.debug("Message sent {}", response.messageId()))
@@ -49,6 +55,19 @@ public class SQSSender /*implements SomeGateway*/ {
     return builder.build();
   }
 
+  private SendMessageBatchRequestEntry buildBatchEntry(String message, String queueUrl) {
+    // El id definitivo de la entrada lo asigna SQSBatchSender al armar el lote
+    SendMessageBatchRequestEntry.Builder builder =
+        SendMessageBatchRequestEntry.builder().id("0").messageBody(message);
+
+    if (isFifoQueue(queueUrl)) {
+      builder.messageGroupId("default-group");
+      builder.messageDeduplicationId(generateMessageDeduplicationId(message));
+    }
+
+    return builder.build();
+  }
+
   private String generateMessageDeduplicationId(String message) {
     try {
       MessageDigest digest = MessageDigest.getInstance("MD5");
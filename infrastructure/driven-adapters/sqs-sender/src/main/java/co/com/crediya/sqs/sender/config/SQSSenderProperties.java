@@ -1,6 +1,19 @@
 package co.com.crediya.sqs.sender.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "adapter.sqs")
-public record SQSSenderProperties(String region, String queueUrl, String endpoint) {}
+public record SQSSenderProperties(
+    String region, String queueUrl, String endpoint, @DefaultValue Batch batch) {
+
+  public record Batch(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("10") int maxEntries,
+      @DefaultValue("20ms") Duration linger,
+      @DefaultValue("3") int maxAttempts,
+      @DefaultValue("4") int concurrency,
+      @DefaultValue("30s") Duration timeout) {}
+}
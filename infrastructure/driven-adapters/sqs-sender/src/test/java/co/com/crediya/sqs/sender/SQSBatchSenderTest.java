@@ -0,0 +1,167 @@
+package co.com.crediya.sqs.sender;
+
+import co.com.crediya.sqs.sender.config.SQSSenderProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SQSBatchSenderTest {
+  private static final String QUEUE_URL = "http://localhost:4566/00000000000/queueName";
+
+  @Test
+  void sendShouldRetryOnlyTheEntriesThatFailedTransiently() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    AtomicBoolean rechazado = new AtomicBoolean();
+    when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              SendMessageBatchResponse.Builder response = SendMessageBatchResponse.builder();
+              List<SendMessageBatchResultEntry> exitosos = new ArrayList<>();
+              List<BatchResultErrorEntry> fallidos = new ArrayList<>();
+              for (SendMessageBatchRequestEntry entry :
+                  invocation.<SendMessageBatchRequest>getArgument(0).entries()) {
+                if ("b".equals(entry.messageBody()) && rechazado.compareAndSet(false, true)) {
+                  fallidos.add(
+                      BatchResultErrorEntry.builder()
+                          .id(entry.id())
+                          .code("ServiceUnavailable")
+                          .senderFault(false)
+                          .build());
+                } else {
+                  exitosos.add(resultado(entry.id(), "m-" + entry.messageBody()));
+                }
+              }
+              return CompletableFuture.completedFuture(
+                  response.successful(exitosos).failed(fallidos).build());
+            });
+    SQSBatchSender sender = new SQSBatchSender(properties(10, 1), client);
+
+    StepVerifier.create(
+            Flux.merge(sender.send(entry("a"), QUEUE_URL), sender.send(entry("b"), QUEUE_URL))
+                .collectList())
+        .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder("m-a", "m-b"))
+        .verifyComplete();
+
+    ArgumentCaptor<SendMessageBatchRequest> captor =
+        ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+    verify(client, atLeast(2)).sendMessageBatch(captor.capture());
+    List<SendMessageBatchRequest> requests = captor.getAllValues();
+    assertThat(requests.get(requests.size() - 1).entries())
+        .extracting(SendMessageBatchRequestEntry::messageBody)
+        .containsExactly("b");
+    sender.destroy();
+  }
+
+  @Test
+  void sendShouldSplitBatchesThatExceedTheSqsPayloadLimit() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(
+                    SendMessageBatchResponse.builder().successful(resultado("0", "m")).build()));
+    SQSBatchSender sender = new SQSBatchSender(properties(10, 1), client);
+    String cuerpo = "x".repeat(200 * 1024);
+
+    StepVerifier.create(
+            Flux.merge(sender.send(entry(cuerpo), QUEUE_URL), sender.send(entry(cuerpo), QUEUE_URL))
+                .collectList())
+        .assertNext(ids -> assertThat(ids).hasSize(2))
+        .verifyComplete();
+
+    ArgumentCaptor<SendMessageBatchRequest> captor =
+        ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+    verify(client, times(2)).sendMessageBatch(captor.capture());
+    assertThat(captor.getAllValues())
+        .allSatisfy(request -> assertThat(request.entries()).hasSize(1));
+    sender.destroy();
+  }
+
+  @Test
+  void sendShouldKeepQueueingWhileEveryBatchSlotWaitsOnSqs() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    AtomicReference<CompletableFuture<SendMessageBatchResponse>> lento = new AtomicReference<>();
+    when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              SendMessageBatchRequest request = invocation.getArgument(0);
+              SendMessageBatchResponse response =
+                  SendMessageBatchResponse.builder()
+                      .successful(
+                          request.entries().stream()
+                              .map(entry -> resultado(entry.id(), "m-" + entry.messageBody()))
+                              .toList())
+                      .build();
+              CompletableFuture<SendMessageBatchResponse> future = new CompletableFuture<>();
+              if (lento.compareAndSet(null, future)) {
+                // El primer lote queda pendiente y ocupa el único envío concurrente
+                Mono.delay(Duration.ofMillis(300)).subscribe(tick -> future.complete(response));
+                return future;
+              }
+              return CompletableFuture.completedFuture(response);
+            });
+    SQSBatchSender sender = new SQSBatchSender(properties(2, 1), client);
+
+    StepVerifier.create(
+            Flux.range(0, 25)
+                .flatMap(i -> sender.send(entry(String.valueOf(i)), QUEUE_URL))
+                .collectList())
+        .assertNext(ids -> assertThat(ids).hasSize(25))
+        .verifyComplete();
+    sender.destroy();
+  }
+
+  @Test
+  void constructorShouldRejectMoreEntriesThanSqsAllows() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    SQSSenderProperties properties = properties(11, 1);
+
+    assertThrows(IllegalArgumentException.class, () -> new SQSBatchSender(properties, client));
+  }
+
+  private static SQSSenderProperties properties(int maxEntries, int concurrency) {
+    return new SQSSenderProperties(
+        "us-east-1",
+        QUEUE_URL,
+        "http://localhost:4566",
+        new SQSSenderProperties.Batch(
+            true,
+            maxEntries,
+            Duration.ofMillis(10),
+            3,
+            concurrency,
+            Duration.ofSeconds(5)));
+  }
+
+  private static SendMessageBatchRequestEntry entry(String body) {
+    return SendMessageBatchRequestEntry.builder().messageBody(body).build();
+  }
+
+  private static SendMessageBatchResultEntry resultado(String id, String messageId) {
+    return SendMessageBatchResultEntry.builder().id(id).messageId(messageId).build();
+  }
+}
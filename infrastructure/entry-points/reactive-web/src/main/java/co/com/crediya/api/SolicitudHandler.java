@@ -1,10 +1,17 @@
 package co.com.crediya.api;
 
 import co.com.crediya.api.dto.ActualizarSolicitudDTO;
+import co.com.crediya.api.dto.ActualizarSolicitudesLoteDTO;
 import co.com.crediya.api.dto.CrearSolicitudDTO;
 import co.com.crediya.api.dto.PaginatedResponseDTO;
 import co.com.crediya.api.dto.RespuestaSolicitudDTO;
+import co.com.crediya.api.dto.ResultadoImportacionDTO;
+import co.com.crediya.api.dto.ResultadoLoteDTO;
+import co.com.crediya.model.solicitud.CambioEstadoSolicitud;
+import co.com.crediya.model.solicitud.FilaImportacion;
+import co.com.crediya.model.solicitud.Solicitud;
 import co.com.crediya.model.usuario.Usuario;
+import co.com.crediya.api.mapper.SolicitudCursorMapper;
 import co.com.crediya.api.mapper.SolicitudDTOMapper;
 import co.com.crediya.api.security.AuthorizationService;
 import co.com.crediya.usecase.solicitud.SolicitudUseCase;
@@ -24,8 +31,10 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -33,6 +42,7 @@ import java.util.Set;
 public class SolicitudHandler {
   private final SolicitudUseCase solicitudUseCase;
   private final SolicitudDTOMapper mapper;
+  private final SolicitudCursorMapper cursorMapper;
   private final Validator validator;
   private final AuthorizationService authorizationService;
 
@@ -75,6 +85,70 @@ public class SolicitudHandler {
             ex -> log.error("[CREAR_SOLICITUD] Error procesando solicitud: {}", ex.getMessage()));
   }
 
+  public Mono<ServerResponse> escucharImportarSolicitudes(ServerRequest serverRequest) {
+    log.info("[IMPORTAR_SOLICITUDES] Petición recibida");
+    // El cuerpo puede ser un arreglo JSON o NDJSON; las filas se decodifican a medida que llegan
+    Flux<FilaImportacion> filas =
+        serverRequest
+            .bodyToFlux(CrearSolicitudDTO.class)
+            .index()
+            .map(fila -> toFilaImportacion(fila.getT1() + 1, fila.getT2()));
+    Flux<ResultadoImportacionDTO> resultados =
+        solicitudUseCase
+            .importarSolicitudes(filas)
+            .map(
+                resultado ->
+                    new ResultadoImportacionDTO(
+                        resultado.fila(),
+                        resultado.idSolicitud(),
+                        resultado.creada(),
+                        resultado.error()))
+            .doOnComplete(() -> log.info("[IMPORTAR_SOLICITUDES] Importación completada"))
+            .doOnError(
+                ex ->
+                    log.error(
+                        "[IMPORTAR_SOLICITUDES] Error importando solicitudes: {}",
+                        ex.getMessage()));
+    return ServerResponse.ok()
+        .contentType(tipoRespuestaEnStreaming(serverRequest))
+        .body(resultados, ResultadoImportacionDTO.class);
+  }
+
+  private FilaImportacion toFilaImportacion(long fila, CrearSolicitudDTO dto) {
+    Set<ConstraintViolation<CrearSolicitudDTO>> violaciones = validator.validate(dto);
+    if (!violaciones.isEmpty()) {
+      return FilaImportacion.invalida(
+          fila,
+          violaciones.stream()
+              .map(ConstraintViolation::getMessage)
+              .sorted()
+              .collect(Collectors.joining("; ")));
+    }
+    try {
+      return FilaImportacion.valida(
+          fila,
+          Solicitud.toSolicitud(
+              dto.idUser(),
+              dto.email(),
+              dto.monto(),
+              LocalDate.parse(dto.plazo()),
+              dto.idTipoPrestamo(),
+              null));
+    } catch (DateTimeParseException e) {
+      return FilaImportacion.invalida(fila, "El plazo debe ser una fecha válida");
+    } catch (IllegalArgumentException e) {
+      return FilaImportacion.invalida(fila, e.getMessage());
+    }
+  }
+
+  private MediaType tipoRespuestaEnStreaming(ServerRequest serverRequest) {
+    // Con Accept application/x-ndjson se emite un objeto por línea en lugar de un arreglo JSON
+    return serverRequest.headers().accept().stream()
+            .anyMatch(tipo -> tipo.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON))
+        ? MediaType.APPLICATION_NDJSON
+        : MediaType.APPLICATION_JSON;
+  }
+
   private Mono<Void> validateDocumentoOwnership(ServerRequest request, String idUserPeticion) {
     return authorizationService
         .extractIdUserFromToken(request)
@@ -98,6 +172,10 @@ public class SolicitudHandler {
   }
 
   public Mono<ServerResponse> escucharSolicitudesPaginadas(ServerRequest serverRequest) {
+    // Con el parámetro cursor se pagina por búsqueda de ID en lugar de LIMIT/OFFSET
+    if (serverRequest.queryParam("cursor").isPresent()) {
+      return escucharSolicitudesPorCursor(serverRequest);
+    }
     return Mono.fromCallable(
             () -> {
               // Obtener parámetros de paginación de los query parameters
@@ -130,28 +208,20 @@ public class SolicitudHandler {
                     pageResult.content().size(),
                     pageResult.totalElements()))
         .flatMap(
-            pageResult ->
-                // Convertir cada Solicitud a RespuestaSolicitudDTO resolviendo los Mono devueltos
-                // por el mapper
-                Flux.fromIterable(pageResult.content())
-                    .flatMap(
-                        mapper
-                            ::toResponse) // mapper.toResponse devuelve Mono<RespuestaSolicitudDTO>
-                    .collectList()
-                    .flatMap(
-                        solicitudesDTO -> {
-                          // Crear la respuesta paginada con los DTOs ya resueltos
-                          var paginatedResponse =
-                              PaginatedResponseDTO.of(
-                                  solicitudesDTO,
-                                  pageResult.page(),
-                                  pageResult.size(),
-                                  pageResult.totalElements());
-
-                          return ServerResponse.ok()
-                              .contentType(MediaType.APPLICATION_JSON)
-                              .bodyValue(paginatedResponse);
-                        }))
+            pageResult -> {
+              // El detalle ya trae tipo de préstamo y estado resueltos por la consulta
+              var paginatedResponse =
+                  PaginatedResponseDTO.of(
+                      pageResult.content().stream().map(mapper::toResponse).toList(),
+                      pageResult.page(),
+                      pageResult.size(),
+                      pageResult.totalElements(),
+                      pageResult.totalExacto());
+
+              return ServerResponse.ok()
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .bodyValue(paginatedResponse);
+            })
         .doOnError(
             ex ->
                 log.error(
@@ -159,6 +229,49 @@ public class SolicitudHandler {
                     ex.getMessage()));
   }
 
+  private Mono<ServerResponse> escucharSolicitudesPorCursor(ServerRequest serverRequest) {
+    return Mono.fromCallable(
+            () -> {
+              int tamanio = serverRequest.queryParam("tamanio").map(Integer::parseInt).orElse(10);
+              if (tamanio <= 0 || tamanio > 100) {
+                log.warn("[GET_SOLICITUDES_CURSOR] Tamaño de página inválido: {}", tamanio);
+                throw new ValidationException("El tamaño de página debe estar entre 1 y 100");
+              }
+              Long ultimoId =
+                  cursorMapper.decodificar(serverRequest.queryParam("cursor").orElse(null));
+
+              log.info(
+                  "[GET_SOLICITUDES_CURSOR] Consultando solicitudes, último ID: {}, tamaño: {}",
+                  ultimoId,
+                  tamanio);
+
+              return new Long[] {ultimoId, (long) tamanio};
+            })
+        .doOnSubscribe(sub -> log.info("[GET_SOLICITUDES_CURSOR] Petición recibida"))
+        .flatMap(
+            params ->
+                solicitudUseCase.obtenerSolicitudesPorCursor(params[0], params[1].intValue()))
+        .flatMap(
+            cursorPage -> {
+              String cursorSiguiente =
+                  cursorPage.hayMas() ? cursorMapper.codificar(cursorPage.ultimoId()) : null;
+              var paginatedResponse =
+                  PaginatedResponseDTO.porCursor(
+                      cursorPage.content().stream().map(mapper::toResponse).toList(),
+                      cursorPage.size(),
+                      cursorSiguiente);
+
+              return ServerResponse.ok()
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .bodyValue(paginatedResponse);
+            })
+        .doOnError(
+            ex ->
+                log.error(
+                    "[GET_SOLICITUDES_CURSOR] Error consultando solicitudes: {}",
+                    ex.getMessage()));
+  }
+
   public Mono<ServerResponse> escucharSolicitudesPorUsuario(ServerRequest serverRequest) {
     return Mono.fromCallable(
             () -> {
@@ -173,26 +286,23 @@ public class SolicitudHandler {
               return idUsuario;
             })
         .doOnSubscribe(sub -> log.info("[GET_SOLICITUDES_POR_USUARIO] Petición recibida"))
-        .flatMap(idUsuario -> solicitudUseCase.obtenerSolicitudesPorIdUsuario(idUsuario))
-        .doOnSuccess(
-            solicitudes ->
-                log.info(
-                    "[GET_SOLICITUDES_POR_USUARIO] Se encontraron {} solicitudes",
-                    solicitudes.size()))
         .flatMap(
-            solicitudes ->
-                // Convertir cada Solicitud a RespuestaSolicitudDTO resolviendo los Mono devueltos
-                // por el mapper
-                Flux.fromIterable(solicitudes)
-                    .flatMap(
-                        mapper
-                            ::toResponse) // mapper.toResponse devuelve Mono<RespuestaSolicitudDTO>
-                    .collectList()
-                    .flatMap(
-                        solicitudesDTO ->
-                            ServerResponse.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .bodyValue(solicitudesDTO)))
+            idUsuario -> {
+              // Cada fila se serializa al llegar de la base de datos
+              MediaType tipoRespuesta = tipoRespuestaEnStreaming(serverRequest);
+              Flux<RespuestaSolicitudDTO> solicitudes =
+                  solicitudUseCase
+                      .obtenerDetallesPorIdUsuario(idUsuario)
+                      .map(mapper::toResponse)
+                      .doOnComplete(
+                          () ->
+                              log.info(
+                                  "[GET_SOLICITUDES_POR_USUARIO] Transmisión completada para usuario ID: {}",
+                                  idUsuario));
+              return ServerResponse.ok()
+                  .contentType(tipoRespuesta)
+                  .body(solicitudes, RespuestaSolicitudDTO.class);
+            })
         .doOnError(
             ex ->
                 log.error(
@@ -249,4 +359,58 @@ public class SolicitudHandler {
                 log.error(
                     "[ACTUALIZAR_SOLICITUD] Error procesando actualización: {}", ex.getMessage()));
   }
+
+  public Mono<ServerResponse> escucharActualizarSolicitudesEnLote(ServerRequest serverRequest) {
+    return serverRequest
+        .bodyToMono(ActualizarSolicitudesLoteDTO.class)
+        .doOnSubscribe(sub -> log.info("[ACTUALIZAR_SOLICITUDES_LOTE] Petición recibida"))
+        .flatMap(
+            dto -> {
+              Set<ConstraintViolation<ActualizarSolicitudesLoteDTO>> violaciones =
+                  validator.validate(dto);
+              if (!violaciones.isEmpty()) {
+                log.warn(
+                    "[ACTUALIZAR_SOLICITUDES_LOTE] Validación fallida: {} violación(es)",
+                    violaciones.size());
+                return Mono.error(new ConstraintViolationException(violaciones));
+              }
+              return Mono.just(dto);
+            })
+        .flatMap(
+            dto -> {
+              log.info(
+                  "[ACTUALIZAR_SOLICITUDES_LOTE] Actualizando {} solicitudes",
+                  dto.solicitudes().size());
+              List<CambioEstadoSolicitud> cambios =
+                  dto.solicitudes().stream()
+                      .map(item -> new CambioEstadoSolicitud(item.idSolicitud(), item.idEstado()))
+                      .toList();
+              return solicitudUseCase.actualizarSolicitudesEnLote(cambios, true);
+            })
+        .map(
+            resultados ->
+                ResultadoLoteDTO.of(
+                    resultados.stream()
+                        .map(
+                            resultado ->
+                                new ResultadoLoteDTO.Item(
+                                    resultado.idSolicitud(),
+                                    resultado.idEstado(),
+                                    resultado.actualizada(),
+                                    resultado.error()))
+                        .toList()))
+        .doOnSuccess(
+            resultado ->
+                log.info(
+                    "[ACTUALIZAR_SOLICITUDES_LOTE] Lote procesado: {} exitosas, {} fallidas",
+                    resultado.exitosas(),
+                    resultado.fallidas()))
+        .flatMap(
+            resultado ->
+                ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(resultado))
+        .doOnError(
+            ex ->
+                log.error(
+                    "[ACTUALIZAR_SOLICITUDES_LOTE] Error procesando lote: {}", ex.getMessage()));
+  }
 }
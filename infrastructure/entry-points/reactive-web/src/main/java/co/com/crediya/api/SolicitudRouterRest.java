@@ -17,8 +17,10 @@ public class SolicitudRouterRest implements SolicitudControllerDocs {
   @Bean
   public RouterFunction<ServerResponse> routerFunction(SolicitudHandler handler) {
     return route(POST("/api/v1/solicitud"), handler::escucharCrearSolicitud)
+        .andRoute(POST("/api/v1/solicitud/lote"), handler::escucharImportarSolicitudes)
         .andRoute(GET("/api/v1/solicitud"), handler::escucharSolicitudesPaginadas)
         .andRoute(GET("/api/v1/solicitud/user/{idUser}"), handler::escucharSolicitudesPorUsuario)
-        .andRoute(PUT("/api/v1/solicitud"), handler::escucharActualizarSolicitud);
+        .andRoute(PUT("/api/v1/solicitud"), handler::escucharActualizarSolicitud)
+        .andRoute(PUT("/api/v1/solicitud/lote"), handler::escucharActualizarSolicitudesEnLote);
   }
 }
@@ -1,8 +1,10 @@
 package co.com.crediya.api.config;
 
+import co.com.crediya.api.security.JwtAuthenticationToken;
 import co.com.crediya.api.security.JwtService;
 import co.com.crediya.shared.error.ErrorResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,13 +12,10 @@ import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
 import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
@@ -26,7 +25,6 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.UUID;
 
 @Configuration
@@ -59,10 +57,14 @@ public class SecurityConfig {
                     .permitAll()
                     .pathMatchers(HttpMethod.POST, "/api/v1/solicitud")
                     .hasAnyRole("cliente", "administrador")
+                    .pathMatchers(HttpMethod.POST, "/api/v1/solicitud/lote")
+                    .hasAnyRole("administrador")
                     .pathMatchers(HttpMethod.GET, "/api/v1/solicitud")
                     .hasAnyRole("asesor", "administrador")
                     .pathMatchers(HttpMethod.PUT, "/api/v1/solicitud")
                     .hasAnyRole("asesor")
+                    .pathMatchers(HttpMethod.PUT, "/api/v1/solicitud/lote")
+                    .hasAnyRole("asesor")
                     .pathMatchers(HttpMethod.GET, "/api/v1/solicitud/user/{idUser}")
                     .hasAnyRole("servicios")
                     .anyExchange()
@@ -153,33 +155,14 @@ public class SecurityConfig {
     }
     String token = authHeader.substring(7);
     try {
-      if (jwtService.isTokenExpired(token)) {
+      Claims claims = jwtService.validateToken(token);
+      if (jwtService.isExpired(claims)) {
         return Mono.empty();
       }
-      String role = jwtService.getRolFromToken(token);
-      AbstractAuthenticationToken auth = getAbstractAuthenticationToken(role, token);
-      return Mono.just(auth);
+      exchange.getAttributes().put(JwtService.CLAIMS_ATTRIBUTE, claims);
+      return Mono.just(new JwtAuthenticationToken(token, claims));
     } catch (Exception e) {
       return Mono.empty();
     }
   }
-
-  private AbstractAuthenticationToken getAbstractAuthenticationToken(String role, String token) {
-    List<GrantedAuthority> authorities =
-        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
-    AbstractAuthenticationToken auth =
-        new AbstractAuthenticationToken(authorities) {
-          @Override
-          public Object getCredentials() {
-            return token;
-          }
-
-          @Override
-          public Object getPrincipal() {
-            return jwtService.getUserIdFromToken(token);
-          }
-        };
-    auth.setAuthenticated(true);
-    return auth;
-  }
 }
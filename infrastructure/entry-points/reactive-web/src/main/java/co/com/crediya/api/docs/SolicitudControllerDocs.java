@@ -2,9 +2,12 @@ package co.com.crediya.api.docs;
 
 import co.com.crediya.api.SolicitudHandler;
 import co.com.crediya.api.dto.ActualizarSolicitudDTO;
+import co.com.crediya.api.dto.ActualizarSolicitudesLoteDTO;
 import co.com.crediya.api.dto.CrearSolicitudDTO;
 import co.com.crediya.api.dto.PaginatedResponseDTO;
 import co.com.crediya.api.dto.RespuestaSolicitudDTO;
+import co.com.crediya.api.dto.ResultadoImportacionDTO;
+import co.com.crediya.api.dto.ResultadoLoteDTO;
 import co.com.crediya.shared.error.ErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -70,7 +73,7 @@ public interface SolicitudControllerDocs {
                 })),
     @RouterOperation(
         path = "/api/v1/solicitud/user/{idUser}",
-        produces = MediaType.APPLICATION_JSON_VALUE,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
         method = RequestMethod.GET,
         beanClass = SolicitudHandler.class,
         beanMethod = "escucharSolicitudesPorUsuario",
@@ -79,7 +82,7 @@ public interface SolicitudControllerDocs {
                 operationId = "getSolicitudesByUser",
                 summary = "Obtener todas las solicitudes de un usuario",
                 description =
-                    "Obtiene una lista completa de todas las solicitudes de crédito asociadas a un usuario específico identificado por su ID. No aplica paginación.",
+                    "Obtiene una lista completa de todas las solicitudes de crédito asociadas a un usuario específico identificado por su ID. No aplica paginación. La respuesta se transmite a medida que se leen las filas; con Accept application/x-ndjson se entrega un objeto JSON por línea.",
                 tags = {"Solicitudes"},
                 security = @SecurityRequirement(name = "bearerAuth"),
                 parameters = {@Parameter(name = "idUser", in = ParameterIn.PATH, required = true)},
@@ -106,6 +109,49 @@ public interface SolicitudControllerDocs {
                       description = "Error interno del servidor",
                       content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
                 })),
+    @RouterOperation(
+        path = "/api/v1/solicitud/lote",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+        method = RequestMethod.POST,
+        beanClass = SolicitudHandler.class,
+        beanMethod = "escucharImportarSolicitudes",
+        operation =
+            @Operation(
+                operationId = "importSolicitudes",
+                summary = "Importar solicitudes de crédito en lote",
+                description =
+                    "Registra solicitudes recibidas como arreglo JSON o NDJSON. Cada fila se valida contra los catálogos en caché y las válidas se insertan por bloques; la respuesta informa el resultado de cada fila y se transmite a medida que se procesa.",
+                tags = {"Solicitudes"},
+                security = @SecurityRequirement(name = "bearerAuth"),
+                requestBody =
+                    @RequestBody(
+                        required = true,
+                        description = "Solicitudes a importar",
+                        content =
+                            @Content(
+                                schema =
+                                    @Schema(
+                                        type = "array",
+                                        implementation = CrearSolicitudDTO.class))),
+                responses = {
+                  @ApiResponse(
+                      responseCode = "200",
+                      description = "Resultado de cada fila importada",
+                      content =
+                          @Content(
+                              schema =
+                                  @Schema(
+                                      type = "array",
+                                      implementation = ResultadoImportacionDTO.class))),
+                  @ApiResponse(
+                      responseCode = "403",
+                      description = "Acceso denegado - rol insuficiente",
+                      content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                  @ApiResponse(
+                      responseCode = "500",
+                      description = "Error interno del servidor",
+                      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+                })),
     @RouterOperation(
         path = "/api/v1/solicitud",
         produces = MediaType.APPLICATION_JSON_VALUE,
@@ -135,7 +181,12 @@ public interface SolicitudControllerDocs {
                               type = "integer",
                               minimum = "1",
                               maximum = "100",
-                              defaultValue = "10"))
+                              defaultValue = "10")),
+                  @Parameter(
+                      name = "cursor",
+                      description =
+                          "Cursor opaco para paginación por búsqueda. Se envía vacío para la primera página y luego el valor de cursorSiguiente. Cuando se usa se ignora pagina y no se calculan totales.",
+                      schema = @Schema(type = "string"))
                 },
                 responses = {
                   @ApiResponse(
@@ -195,6 +246,42 @@ public interface SolicitudControllerDocs {
                       responseCode = "500",
                       description = "Error interno del servidor",
                       content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+                })),
+    @RouterOperation(
+        path = "/api/v1/solicitud/lote",
+        produces = MediaType.APPLICATION_JSON_VALUE,
+        method = RequestMethod.PUT,
+        beanClass = SolicitudHandler.class,
+        beanMethod = "escucharActualizarSolicitudesEnLote",
+        operation =
+            @Operation(
+                operationId = "updateSolicitudesLote",
+                summary = "Actualizar estado de solicitudes en lote",
+                description =
+                    "Actualiza el estado de hasta 500 solicitudes en una sola transacción. Informa el resultado de cada elemento; las notificaciones se registran en bloque y se genera un único reporte de aprobadas.",
+                tags = {"Solicitudes"},
+                security = @SecurityRequirement(name = "bearerAuth"),
+                requestBody =
+                    @RequestBody(
+                        required = true,
+                        description = "Pares de solicitud y estado a aplicar",
+                        content =
+                            @Content(
+                                schema =
+                                    @Schema(implementation = ActualizarSolicitudesLoteDTO.class))),
+                responses = {
+                  @ApiResponse(
+                      responseCode = "200",
+                      description = "Lote procesado, con el resultado de cada solicitud",
+                      content = @Content(schema = @Schema(implementation = ResultadoLoteDTO.class))),
+                  @ApiResponse(
+                      responseCode = "400",
+                      description = "Lote vacío o demasiado grande",
+                      content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                  @ApiResponse(
+                      responseCode = "500",
+                      description = "Error interno del servidor",
+                      content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
                 }))
   })
   public RouterFunction<ServerResponse> routerFunction(SolicitudHandler handler);
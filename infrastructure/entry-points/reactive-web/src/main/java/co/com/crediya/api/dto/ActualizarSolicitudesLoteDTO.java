@@ -0,0 +1,15 @@
+package co.com.crediya.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = false)
+public record ActualizarSolicitudesLoteDTO(
+    @NotEmpty(message = "El lote de solicitudes es obligatorio")
+        @Size(max = 500, message = "El lote no puede superar 500 solicitudes")
+        List<@NotNull(message = "Los elementos del lote no pueden ser nulos") ActualizarSolicitudDTO>
+            solicitudes) {}
@@ -1,13 +1,34 @@
 package co.com.crediya.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PaginatedResponseDTO<T>(
-    List<T> contenido, int pagina, int tamanio, long totalElementos, int totalPaginas) {
+    List<T> contenido,
+    Integer pagina,
+    int tamanio,
+    Long totalElementos,
+    Integer totalPaginas,
+    Boolean totalExacto,
+    String cursorSiguiente) {
   public static <T> PaginatedResponseDTO<T> of(
       List<T> contenido, int pagina, int tamanio, long totalElementos) {
+    return of(contenido, pagina, tamanio, totalElementos, true);
+  }
+
+  public static <T> PaginatedResponseDTO<T> of(
+      List<T> contenido, int pagina, int tamanio, long totalElementos, boolean totalExacto) {
     int totalPaginas = (int) Math.ceil((double) totalElementos / tamanio);
 
-    return new PaginatedResponseDTO<>(contenido, pagina, tamanio, totalElementos, totalPaginas);
+    return new PaginatedResponseDTO<>(
+        contenido, pagina, tamanio, totalElementos, totalPaginas, totalExacto, null);
+  }
+
+  public static <T> PaginatedResponseDTO<T> porCursor(
+      List<T> contenido, int tamanio, String cursorSiguiente) {
+    return new PaginatedResponseDTO<>(
+        contenido, null, tamanio, null, null, null, cursorSiguiente);
   }
 }
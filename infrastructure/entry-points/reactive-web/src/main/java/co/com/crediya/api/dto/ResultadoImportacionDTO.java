@@ -0,0 +1,7 @@
+package co.com.crediya.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ResultadoImportacionDTO(
+    long fila, Long idSolicitud, boolean creada, String error) {}
@@ -0,0 +1,18 @@
+package co.com.crediya.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record ResultadoLoteDTO(
+    int total, long exitosas, long fallidas, List<ResultadoLoteDTO.Item> resultados) {
+
+  public static ResultadoLoteDTO of(List<Item> resultados) {
+    long exitosas = resultados.stream().filter(Item::exitoso).count();
+    return new ResultadoLoteDTO(
+        resultados.size(), exitosas, resultados.size() - exitosas, resultados);
+  }
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record Item(Long idSolicitud, Long idEstado, boolean exitoso, String error) {}
+}
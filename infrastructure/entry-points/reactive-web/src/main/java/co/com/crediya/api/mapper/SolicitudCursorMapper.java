@@ -0,0 +1,36 @@
+package co.com.crediya.api.mapper;
+
+import co.com.crediya.usecase.solicitud.exceptions.ValidationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Component
+public class SolicitudCursorMapper {
+  private static final String PREFIJO = "v1:";
+
+  public String codificar(Long ultimoId) {
+    if (ultimoId == null) {
+      return null;
+    }
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((PREFIJO + ultimoId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public Long decodificar(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (!valor.startsWith(PREFIJO)) {
+        throw new ValidationException("El cursor de paginación no es válido");
+      }
+      return Long.parseLong(valor.substring(PREFIJO.length()));
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("El cursor de paginación no es válido");
+    }
+  }
+}
@@ -2,6 +2,7 @@ package co.com.crediya.api.mapper;
 
 import co.com.crediya.api.dto.RespuestaSolicitudDTO;
 import co.com.crediya.model.solicitud.Solicitud;
+import co.com.crediya.model.solicitud.SolicitudDetalle;
 import co.com.crediya.model.solicitud.gateways.EstadoRepository;
 import co.com.crediya.model.solicitud.gateways.TipoPrestamoRepository;
 import lombok.RequiredArgsConstructor;
@@ -42,4 +43,18 @@ public class SolicitudDTOMapper {
                   deudaTotalMensual);
             });
   }
+
+  public RespuestaSolicitudDTO toResponse(SolicitudDetalle detalle) {
+    var solicitud = detalle.solicitud();
+    return new RespuestaSolicitudDTO(
+        solicitud.getIdSolicitud(),
+        solicitud.getIdUser(),
+        solicitud.getEmail(),
+        solicitud.getMonto(),
+        solicitud.getPlazo(),
+        detalle.nombreTipoPrestamo(),
+        detalle.nombreEstado(),
+        detalle.tasaInteres(),
+        detalle.calcularDeudaTotalMensual());
+  }
 }
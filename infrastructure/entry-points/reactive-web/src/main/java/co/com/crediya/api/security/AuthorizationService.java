@@ -2,6 +2,7 @@ package co.com.crediya.api.security;
 
 import co.com.crediya.usecase.solicitud.exceptions.BusinessException;
 import co.com.crediya.usecase.solicitud.exceptions.ValidationException;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -20,8 +21,22 @@ public class AuthorizationService {
   private static final String TOKEN_PREFIX = "Bearer ";
 
   public Mono<String> validateTokenAndGetRole(ServerRequest request) {
+    return resolveClaims(request).map(claims -> claims.get("rol", String.class));
+  }
+
+  public Mono<String> extractIdUserFromToken(ServerRequest request) {
+    return resolveClaims(request).map(claims -> claims.get("idUser", String.class));
+  }
+
+  // Reutiliza los claims verificados por el filtro de seguridad; solo parsea si no existen
+  private Mono<Claims> resolveClaims(ServerRequest request) {
     return Mono.fromCallable(
         () -> {
+          Claims claims = request.exchange().getAttribute(JwtService.CLAIMS_ATTRIBUTE);
+          if (claims != null) {
+            return claims;
+          }
+
           String authHeader = request.headers().firstHeader("Authorization");
 
           if (authHeader == null || !authHeader.startsWith(TOKEN_PREFIX)) {
@@ -31,39 +46,18 @@ public class AuthorizationService {
           String token = authHeader.substring(TOKEN_PREFIX.length());
 
           try {
-            if (jwtService.isTokenExpired(token)) {
-              throw new UnauthorizedException("Token expirado");
-            }
-
-            return jwtService.getRolFromToken(token);
+            claims = jwtService.validateToken(token);
           } catch (Exception e) {
             log.error("Error validando token: {}", e.getMessage());
             throw new UnauthorizedException("Token inválido");
           }
-        });
-  }
-
-  public Mono<String> extractIdUserFromToken(ServerRequest request) {
-    return Mono.fromCallable(
-        () -> {
-          String authHeader = request.headers().firstHeader("Authorization");
 
-          if (authHeader == null || !authHeader.startsWith(TOKEN_PREFIX)) {
-            throw new UnauthorizedException("Token no proporcionado");
+          if (jwtService.isExpired(claims)) {
+            throw new UnauthorizedException("Token expirado");
           }
 
-          String token = authHeader.substring(TOKEN_PREFIX.length());
-
-          try {
-            if (jwtService.isTokenExpired(token)) {
-              throw new UnauthorizedException("Token expirado");
-            }
-
-            return jwtService.getIdUserFromToken(token);
-          } catch (Exception e) {
-            log.error("Error extrayendo idUser del token: {}", e.getMessage());
-            throw new UnauthorizedException("Token inválido");
-          }
+          request.exchange().getAttributes().put(JwtService.CLAIMS_ATTRIBUTE, claims);
+          return claims;
         });
   }
 
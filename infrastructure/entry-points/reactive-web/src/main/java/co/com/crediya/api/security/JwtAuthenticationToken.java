@@ -0,0 +1,47 @@
+package co.com.crediya.api.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * Autenticación construida a partir de un JWT ya verificado. Conserva los claims parseados para
+ * que rol, userId e idUser se lean sin volver a validar la firma del token.
+ */
+public class JwtAuthenticationToken extends AbstractAuthenticationToken {
+  private final String token;
+  private final transient Claims claims;
+
+  public JwtAuthenticationToken(String token, Claims claims) {
+    super(
+        Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_" + claims.get("rol", String.class))));
+    this.token = token;
+    this.claims = claims;
+    setAuthenticated(true);
+  }
+
+  @Override
+  public Object getCredentials() {
+    return token;
+  }
+
+  @Override
+  public Object getPrincipal() {
+    return claims.get("userId", Long.class);
+  }
+
+  public Claims getClaims() {
+    return claims;
+  }
+
+  public String getRol() {
+    return claims.get("rol", String.class);
+  }
+
+  public String getIdUser() {
+    return claims.get("idUser", String.class);
+  }
+}
@@ -0,0 +1,86 @@
+package co.com.crediya.api.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cache LRU de tokens ya verificados. La clave es el SHA-256 del token, así el token no queda en
+ * memoria, y cada entrada vence en el {@code exp} del propio token.
+ */
+class JwtClaimsCache {
+  private final Map<String, Entrada> entradas;
+  private final Counter aciertos;
+  private final Counter fallos;
+
+  JwtClaimsCache(int maxEntradas, MeterRegistry registry) {
+    this.entradas =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+            return size() > maxEntradas;
+          }
+        };
+    this.aciertos = registry.counter("jwt.cache.requests", "result", "hit");
+    this.fallos = registry.counter("jwt.cache.requests", "result", "miss");
+    registry.gauge("jwt.cache.size", this, JwtClaimsCache::tamanio);
+  }
+
+  Claims obtener(String token, Function<String, Claims> verificar) {
+    String clave = digest(token);
+    long ahora = System.currentTimeMillis();
+    Claims claims = vigente(clave, ahora);
+    if (claims != null) {
+      aciertos.increment();
+      return claims;
+    }
+    fallos.increment();
+    claims = verificar.apply(token);
+    Date expiracion = claims.getExpiration();
+    if (expiracion != null && expiracion.getTime() > ahora) {
+      guardar(clave, new Entrada(claims, expiracion.getTime()));
+    }
+    return claims;
+  }
+
+  private synchronized Claims vigente(String clave, long ahora) {
+    Entrada entrada = entradas.get(clave);
+    if (entrada == null) {
+      return null;
+    }
+    if (entrada.expiraEn() <= ahora) {
+      entradas.remove(clave);
+      return null;
+    }
+    return entrada.claims();
+  }
+
+  private synchronized void guardar(String clave, Entrada entrada) {
+    entradas.put(clave, entrada);
+  }
+
+  private synchronized double tamanio() {
+    return entradas.size();
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 no disponible", e);
+    }
+  }
+
+  private record Entrada(Claims claims, long expiraEn) {}
+}
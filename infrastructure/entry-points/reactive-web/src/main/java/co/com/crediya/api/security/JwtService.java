@@ -1,8 +1,10 @@
 package co.com.crediya.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,16 +17,21 @@ import java.util.Date;
 @Service
 @Slf4j
 public class JwtService {
+  // Atributo del exchange donde se publican los claims ya verificados de la petición
+  public static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".CLAIMS";
 
   private final SecretKey secretKey;
+  private final JwtParser parser;
+  private final JwtClaimsCache claimsCache;
   private final long expirationTimeInHours;
 
   public JwtService(
       @Value("${jwt.secret:mySecretKey123456789012345678901234567890}")
           String secretKeyString, // Obtiene los env o uso los datos por defecto
       @Value("${jwt.expiration:24}")
-          long expirationTimeInHours // Obtiene los env o uso los datos por defecto
-      ) {
+          long expirationTimeInHours, // Obtiene los env o uso los datos por defecto
+      @Value("${jwt.cache.max-entries:10000}") int maxEntradasCache,
+      MeterRegistry meterRegistry) {
     this.expirationTimeInHours = expirationTimeInHours;
 
     // Si no se proporciona una clave o es muy corta, generar una clave segura para HS512
@@ -46,6 +53,8 @@ public class JwtService {
       }
     }
 
+    this.parser = Jwts.parser().verifyWith(secretKey).build();
+    this.claimsCache = new JwtClaimsCache(maxEntradasCache, meterRegistry);
     log.info("JwtService inicializado correctamente con clave segura para HS512");
   }
 
@@ -69,7 +78,7 @@ public class JwtService {
 
   public Claims validateToken(String token) {
     try {
-      return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+      return claimsCache.obtener(token, t -> parser.parseSignedClaims(t).getPayload());
     } catch (Exception e) {
       log.error("Error validating JWT token: {}", e.getMessage());
       throw new RuntimeException("Token inválido", e);
@@ -94,9 +103,13 @@ public class JwtService {
 
   public boolean isTokenExpired(String token) {
     try {
-      return validateToken(token).getExpiration().before(new Date());
+      return isExpired(validateToken(token));
     } catch (Exception e) {
       return true;
     }
   }
+
+  public boolean isExpired(Claims claims) {
+    return claims.getExpiration() == null || claims.getExpiration().before(new Date());
+  }
 }
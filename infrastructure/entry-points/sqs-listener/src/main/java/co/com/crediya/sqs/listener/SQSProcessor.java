@@ -1,6 +1,7 @@
 package co.com.crediya.sqs.listener;
 
 import co.com.crediya.model.solicitud.gateways.EstadoRepository;
+import co.com.crediya.sqs.listener.helper.SQSIdempotencyStore;
 import co.com.crediya.usecase.solicitud.SolicitudUseCase;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -10,21 +11,36 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.util.Locale;
 import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SQSProcessor implements Function<Message, Mono<Void>> {
+  private static final String CLAVE_MENSAJE = "mensaje:";
+  private static final String CLAVE_SOLICITUD = "solicitud:";
+
   private final SolicitudUseCase solicitudUseCase;
   private final EstadoRepository estadoRepository;
   private final ObjectMapper objectMapper;
+  private final SQSIdempotencyStore idempotencyStore;
 
   @Override
   public Mono<Void> apply(Message message) {
     log.info("Mensaje SQS recibido desde capacidad-endeudamiento: {}", message.body());
-    return parseMessage(message.body())
-        .flatMap(this::processCapacidadResponse)
+    String claveMensaje = CLAVE_MENSAJE + message.messageId();
+    return idempotencyStore
+        .isProcessed(claveMensaje)
+        .flatMap(
+            procesado -> {
+              if (Boolean.TRUE.equals(procesado)) {
+                log.info("Mensaje SQS {} ya procesado, se descarta", message.messageId());
+                return Mono.<Void>empty();
+              }
+              return parseMessage(message.body())
+                  .flatMap(response -> processCapacidadResponse(response, claveMensaje));
+            })
         .onErrorResume(
             e -> {
               log.error("Error procesando mensaje de capacidad-endeudamiento: {}", e.getMessage(), e);
@@ -55,7 +71,7 @@ public class SQSProcessor implements Function<Message, Mono<Void>> {
         });
   }
 
-  private Mono<Void> processCapacidadResponse(CapacidadResponse response) {
+  private Mono<Void> processCapacidadResponse(CapacidadResponse response, String claveMensaje) {
       if (response == null || response.idSolicitud() == null) {
           log.warn("CapacidadResponse o idSolicitud es nulo: {}", response);
           return Mono.empty();
@@ -67,37 +83,56 @@ public class SQSProcessor implements Function<Message, Mono<Void>> {
           return Mono.empty();
       }
 
-      String normalized = rawEstado.trim();
-      log.info("Actualizando solicitud {} al estado {}", response.idSolicitud(), normalized);
+      // La búsqueda del estado y la clave de idempotencia usan el mismo valor normalizado
+      String normalized = rawEstado.trim().toUpperCase(Locale.ROOT);
+      String claveSolicitud = CLAVE_SOLICITUD + response.idSolicitud() + ":" + normalized;
 
+    return idempotencyStore
+        .isProcessed(claveSolicitud)
+        .flatMap(
+            procesado -> {
+              if (Boolean.TRUE.equals(procesado)) {
+                log.info(
+                    "La solicitud {} ya fue actualizada al estado {}, se descarta el duplicado",
+                    response.idSolicitud(),
+                    normalized);
+                return Mono.<Void>empty();
+              }
+              log.info("Actualizando solicitud {} al estado {}", response.idSolicitud(), normalized);
+              return actualizarEstado(response.idSolicitud(), normalized)
+                  .then(
+                      Mono.defer(
+                          () -> idempotencyStore.markProcessed(claveMensaje, claveSolicitud)));
+            });
+  }
 
+  private Mono<Void> actualizarEstado(Long idSolicitud, String nombreEstado) {
     return estadoRepository
-        .findByNombre(response.estado())
-        .switchIfEmpty(Mono.error(new RuntimeException("Estado no encontrado: " + response.estado())))
+        .findByNombre(nombreEstado)
+        .switchIfEmpty(Mono.error(new RuntimeException("Estado no encontrado: " + nombreEstado)))
         .flatMap(
             estado -> {
               log.info("Estado encontrado {} con id {}", estado.getNombre(), estado.getIdEstado());
-              return solicitudUseCase.actualizarSolicitud(
-                  response.idSolicitud(), estado.getIdEstado(), false);
+              return solicitudUseCase.actualizarSolicitud(idSolicitud, estado.getIdEstado(), false);
             })
         .doOnSuccess(
             solicitud -> {
               log.info(
                   "Solicitud {} actualizada exitosamente al estado: {}",
-                  response.idSolicitud(),
-                  response.estado());
-              if ("APROBADO".equalsIgnoreCase(response.estado())) {
-                log.info("La solicitud {} ha sido APROBADA", response.idSolicitud());
-              } else if ("RECHAZADO".equalsIgnoreCase(response.estado())) {
-                log.info("La solicitud {} ha sido RECHAZADA", response.idSolicitud());
-              } else if ("PENDIENTE_REVISION".equalsIgnoreCase(response.estado())) {
-                log.info("La solicitud {} está PENDIENTE DE REVISIÓN", response.idSolicitud());
+                  idSolicitud,
+                  nombreEstado);
+              if ("APROBADO".equalsIgnoreCase(nombreEstado)) {
+                log.info("La solicitud {} ha sido APROBADA", idSolicitud);
+              } else if ("RECHAZADO".equalsIgnoreCase(nombreEstado)) {
+                log.info("La solicitud {} ha sido RECHAZADA", idSolicitud);
+              } else if ("PENDIENTE_REVISION".equalsIgnoreCase(nombreEstado)) {
+                log.info("La solicitud {} está PENDIENTE DE REVISIÓN", idSolicitud);
               }
             })
         .doOnError(
             e ->
                 log.error(
-                    "Error al actualizar la solicitud {}: {}", response.idSolicitud(), e.getMessage()))
+                    "Error al actualizar la solicitud {}: {}", idSolicitud, e.getMessage()))
         .then();
   }
 
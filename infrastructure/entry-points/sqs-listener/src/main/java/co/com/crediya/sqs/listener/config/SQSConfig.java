@@ -1,5 +1,7 @@
 package co.com.crediya.sqs.listener.config;
 
+import co.com.crediya.model.solicitud.gateways.MensajeProcesadoRepository;
+import co.com.crediya.sqs.listener.helper.SQSIdempotencyStore;
 import co.com.crediya.sqs.listener.helper.SQSListener;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -23,7 +25,7 @@ import java.util.function.Function;
 @Configuration
 public class SQSConfig {
 
-  @Bean
+  @Bean(destroyMethod = "stop")
   public SQSListener sqsListener(
       @Qualifier("configSqs") SqsAsyncClient client,
       SQSProperties properties,
@@ -36,6 +38,14 @@ public class SQSConfig {
         .start();
   }
 
+  @Bean
+  public SQSIdempotencyStore sqsIdempotencyStore(
+      SQSProperties properties, MensajeProcesadoRepository repository) {
+    SQSProperties.Idempotency idempotency = properties.idempotency();
+    return new SQSIdempotencyStore(
+        repository, idempotency.maxEntries(), idempotency.ttl(), idempotency.persistent());
+  }
+
   @Bean
   public SqsAsyncClient configSqs(SQSProperties properties, MetricPublisher publisher) {
     return SqsAsyncClient.builder()
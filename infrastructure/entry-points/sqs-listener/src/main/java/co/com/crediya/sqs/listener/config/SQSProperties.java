@@ -1,6 +1,9 @@
 package co.com.crediya.sqs.listener.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
 
 @ConfigurationProperties(prefix = "entrypoint.sqs")
 public record SQSProperties(
@@ -10,4 +13,16 @@ public record SQSProperties(
     int waitTimeSeconds,
     int visibilityTimeoutSeconds,
     int maxNumberOfMessages,
-    int numberOfThreads) {}
+    int numberOfThreads,
+    @DefaultValue("0") int maxInFlight,
+    @DefaultValue("2") int concurrentPolls,
+    @DefaultValue("200ms") Duration ackLinger,
+    @DefaultValue("true") boolean visibilityHeartbeat,
+    @DefaultValue("5m") Duration maxVisibilityExtension,
+    @DefaultValue Idempotency idempotency) {
+
+  public record Idempotency(
+      @DefaultValue("10000") int maxEntries,
+      @DefaultValue("1h") Duration ttl,
+      @DefaultValue("true") boolean persistent) {}
+}
@@ -0,0 +1,144 @@
+package co.com.crediya.sqs.listener.helper;
+
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acumula los receipt handles de los mensajes procesados y los elimina con DeleteMessageBatch
+ * cuando se completan maxBatchSize entradas o vence linger. Las entradas que fallan dentro del lote
+ * se reintentan una a una con DeleteMessage. Al detenerse elimina las entradas que aún esperan
+ * lote antes de liberar la suscripción.
+ */
+@Log4j2
+public class SQSAckAccumulator {
+  public static final int MAX_BATCH_SIZE = 10;
+  private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+  private static final Duration EMIT_RETRY = Duration.ofMillis(100);
+  private static final Sinks.EmitFailureHandler RETRY_EMIT =
+      Sinks.EmitFailureHandler.busyLooping(EMIT_RETRY);
+
+  private final SqsAsyncClient client;
+  private final String queueUrl;
+  private final Sinks.Many<PendingAck> sink = Sinks.many().unicast().onBackpressureBuffer();
+  private final Sinks.Empty<Void> terminated = Sinks.empty();
+  private final Disposable subscription;
+
+  public SQSAckAccumulator(SqsAsyncClient client, String queueUrl, Duration linger) {
+    this.client = client;
+    this.queueUrl = queueUrl;
+    this.subscription =
+        sink.asFlux()
+            .bufferTimeout(MAX_BATCH_SIZE, linger, true)
+            .concatMap(this::deleteBatch)
+            .doFinally(signal -> terminated.tryEmitEmpty())
+            .subscribe();
+  }
+
+  public Mono<Void> ack(String receiptHandle) {
+    return Mono.defer(
+        () -> {
+          PendingAck pending = new PendingAck(receiptHandle, Sinks.empty());
+          if (!enqueue(pending)) {
+            return Mono.error(new IllegalStateException("SQS ack accumulator is stopped"));
+          }
+          return pending.result().asMono();
+        });
+  }
+
+  public void stop() {
+    // Completar el sink emite el último lote parcial sin esperar a que venza linger
+    sink.emitComplete(RETRY_EMIT);
+    try {
+      terminated.asMono().block(STOP_TIMEOUT);
+    } catch (IllegalStateException e) {
+      log.warn("Timeout deleting pending sqs messages on stop", e);
+    } finally {
+      subscription.dispose();
+    }
+  }
+
+  // emitNext descarta en silencio los elementos de un sink terminado, por eso se usa tryEmitNext
+  private boolean enqueue(PendingAck pending) {
+    long deadline = System.nanoTime() + EMIT_RETRY.toNanos();
+    Sinks.EmitResult result = sink.tryEmitNext(pending);
+    while (result == Sinks.EmitResult.FAIL_NON_SERIALIZED && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+      result = sink.tryEmitNext(pending);
+    }
+    return result.isSuccess();
+  }
+
+  private Mono<Void> deleteBatch(List<PendingAck> batch) {
+    List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      entries.add(
+          DeleteMessageBatchRequestEntry.builder()
+              .id(String.valueOf(i))
+              .receiptHandle(batch.get(i).receiptHandle())
+              .build());
+    }
+    DeleteMessageBatchRequest request =
+        DeleteMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build();
+
+    return Mono.fromFuture(() -> client.deleteMessageBatch(request))
+        .flatMap(response -> handleResponse(batch, response))
+        .onErrorResume(
+            e -> {
+              log.warn("Error deleting sqs message batch, retrying individually", e);
+              return Flux.fromIterable(batch).concatMap(this::deleteIndividually).then();
+            });
+  }
+
+  private Mono<Void> handleResponse(List<PendingAck> batch, DeleteMessageBatchResponse response) {
+    response.successful().forEach(ok -> batch.get(Integer.parseInt(ok.id())).complete());
+    return Flux.fromIterable(response.failed())
+        .concatMap(
+            failed -> {
+              PendingAck pending = batch.get(Integer.parseInt(failed.id()));
+              if (Boolean.TRUE.equals(failed.senderFault())) {
+                // Un receipt handle inválido no se corrige reintentando
+                logFailure(failed);
+                pending.complete();
+                return Mono.empty();
+              }
+              return deleteIndividually(pending);
+            })
+        .then();
+  }
+
+  private Mono<Void> deleteIndividually(PendingAck pending) {
+    DeleteMessageRequest request =
+        DeleteMessageRequest.builder()
+            .queueUrl(queueUrl)
+            .receiptHandle(pending.receiptHandle())
+            .build();
+    return Mono.fromFuture(() -> client.deleteMessage(request))
+        .doOnError(e -> log.error("Error deleting sqs message", e))
+        .onErrorResume(e -> Mono.empty())
+        .doFinally(signal -> pending.complete())
+        .then();
+  }
+
+  private void logFailure(BatchResultErrorEntry failed) {
+    log.warn("Could not delete sqs message: {} - {}", failed.code(), failed.message());
+  }
+
+  private record PendingAck(String receiptHandle, Sinks.Empty<Void> result) {
+    void complete() {
+      result.tryEmitEmpty();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package co.com.crediya.sqs.listener.helper;
+
+import co.com.crediya.model.solicitud.gateways.MensajeProcesadoRepository;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registro de mensajes ya procesados para descartar las redistribuciones de SQS. Un LRU acotado
+ * responde sin ir a la base de datos; si la persistencia está habilitada los fallos del LRU
+ * (reinicios, otras instancias) se resuelven contra la tabla mensaje_procesado. Ambas capas
+ * aplican el mismo ttl, contado desde que se marcó la clave.
+ */
+@Log4j2
+public class SQSIdempotencyStore {
+  private final MensajeProcesadoRepository repository;
+  private final boolean persistent;
+  private final Duration ttl;
+  private final Clock clock;
+  private final Map<String, Instant> recent;
+
+  public SQSIdempotencyStore(
+      MensajeProcesadoRepository repository, int maxEntries, Duration ttl, boolean persistent) {
+    this(repository, maxEntries, ttl, persistent, Clock.systemUTC());
+  }
+
+  SQSIdempotencyStore(
+      MensajeProcesadoRepository repository,
+      int maxEntries,
+      Duration ttl,
+      boolean persistent,
+      Clock clock) {
+    this.repository = repository;
+    this.persistent = persistent;
+    this.ttl = ttl;
+    this.clock = clock;
+    this.recent =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  public Mono<Boolean> isProcessed(String key) {
+    if (isRecent(key)) {
+      return Mono.just(true);
+    }
+    if (!persistent) {
+      return Mono.just(false);
+    }
+    // Un acierto en la base no se copia al LRU: su ttl debe contarse desde el registro original
+    return repository
+        .fueProcesado(key, ttl)
+        .defaultIfEmpty(false)
+        .onErrorResume(
+            e -> {
+              log.warn("Could not check idempotency key {}: {}", key, e.getMessage());
+              return Mono.just(false);
+            });
+  }
+
+  public Mono<Void> markProcessed(String... keys) {
+    for (String key : keys) {
+      remember(key);
+    }
+    if (!persistent) {
+      return Mono.empty();
+    }
+    return Flux.fromArray(keys)
+        .concatMap(repository::registrar)
+        .onErrorResume(
+            e -> {
+              log.warn("Could not persist idempotency keys: {}", e.getMessage());
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  private synchronized boolean isRecent(String key) {
+    Instant expiration = recent.get(key);
+    if (expiration == null) {
+      return false;
+    }
+    if (expiration.isBefore(clock.instant())) {
+      recent.remove(key);
+      return false;
+    }
+    return true;
+  }
+
+  private synchronized void remember(String key) {
+    recent.put(key, clock.instant().plus(ttl));
+  }
+}
@@ -3,14 +3,16 @@ package co.com.crediya.sqs.listener.helper;
 import co.com.crediya.sqs.listener.config.SQSProperties;
 import lombok.Builder;
 import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Function;
@@ -18,50 +20,149 @@ import java.util.function.Function;
 @Log4j2
 @Builder
 public class SQSListener {
+  private static final Duration POLL_ERROR_BACKOFF = Duration.ofSeconds(1);
+
   private final SqsAsyncClient client;
   private final SQSProperties properties;
   private final Function<Message, Mono<Void>> processor;
   private String operation;
+  private SQSAckAccumulator ackAccumulator;
+  private SQSVisibilityHeartbeat visibilityHeartbeat;
+  private Disposable.Composite subscriptions;
+  private ExecutorService service;
 
   public SQSListener start() {
     this.operation = "MessageFrom:" + properties.queueUrl();
-    ExecutorService service = Executors.newFixedThreadPool(properties.numberOfThreads());
+    this.subscriptions = Disposables.composite();
+    if (properties.visibilityHeartbeat()) {
+      // Valida la configuración del heartbeat al arrancar y no con el primer mensaje
+      heartbeat();
+    }
+    if (properties.maxInFlight() > 0) {
+      subscriptions.add(listenConcurrently().subscribe());
+      return this;
+    }
+    service = Executors.newFixedThreadPool(properties.numberOfThreads());
     Flux<Void> flow = listenRetryRepeat().publishOn(Schedulers.fromExecutorService(service));
     for (var i = 0; i < properties.numberOfThreads(); i++) {
-      flow.subscribe();
+      subscriptions.add(flow.subscribe());
     }
     return this;
   }
 
+  /**
+   * Deja de leer de la cola y elimina los mensajes ya procesados que esperaban lote en el
+   * acumulador. Los mensajes que seguían en proceso vuelven a la cola al vencer su visibilidad.
+   */
+  public void stop() {
+    if (subscriptions != null) {
+      subscriptions.dispose();
+    }
+    if (service != null) {
+      service.shutdown();
+    }
+    SQSAckAccumulator accumulator;
+    synchronized (this) {
+      accumulator = ackAccumulator;
+    }
+    if (accumulator != null) {
+      accumulator.stop();
+    }
+  }
+
   private Flux<Void> listenRetryRepeat() {
     return listen().doOnError(e -> log.error("Error listening sqs queue", e)).repeat();
   }
 
   private Flux<Void> listen() {
     return getMessages()
-        .flatMap(
-            message ->
-                processor
-                    .apply(message)
-                    .name("async_operation")
-                    .tag("operation", operation)
-                    .metrics()
-                    .then(confirm(message)))
-        .onErrorContinue((e, o) -> log.error("Error listening sqs message", e));
+        .flatMap(recibido -> process(recibido).then(confirm(recibido.message())))
+        .onErrorContinue((e, o) -> log.error("Error listening sqs message", e))
+        .doOnDiscard(MensajeRecibido.class, MensajeRecibido::liberar);
+  }
+
+  /**
+   * Modo con límite explícito de mensajes en proceso: varios long-polls solapados alimentan un
+   * único flujo que procesa hasta maxInFlight mensajes a la vez y confirma en lotes. Un nuevo
+   * receive solo se emite cuando hay demanda, así que si el procesamiento se atrasa se deja de
+   * leer de la cola. Los mensajes recibidos que esperan turno mantienen su visibilidad extendida.
+   */
+  Flux<Void> listenConcurrently() {
+    int pollers = Math.max(1, properties.concurrentPolls());
+    return Flux.merge(
+            Flux.range(0, pollers).map(i -> pollContinuously()),
+            pollers,
+            Math.max(1, properties.maxNumberOfMessages()))
+        .flatMap(this::processAndConfirm, properties.maxInFlight())
+        .doOnDiscard(MensajeRecibido.class, MensajeRecibido::liberar);
+  }
+
+  private Flux<MensajeRecibido> pollContinuously() {
+    return getMessages()
+        .onErrorResume(
+            e -> {
+              log.error("Error receiving messages from sqs queue", e);
+              return Mono.delay(POLL_ERROR_BACKOFF).thenMany(Flux.empty());
+            })
+        .repeat();
+  }
+
+  private Mono<Void> processAndConfirm(MensajeRecibido recibido) {
+    return process(recibido)
+        .then(confirm(recibido.message()))
+        .onErrorResume(
+            e -> {
+              // Sin confirmación el mensaje vuelve a la cola al vencer su visibilidad
+              log.error("Error processing sqs message {}", recibido.message().messageId(), e);
+              return Mono.empty();
+            });
+  }
+
+  private Mono<Void> process(MensajeRecibido recibido) {
+    return Mono.defer(() -> processor.apply(recibido.message()))
+        .name("async_operation")
+        .tag("operation", operation)
+        .metrics()
+        .doFinally(signal -> recibido.liberar());
+  }
+
+  // El heartbeat arranca al recibir el mensaje, así también cubre el tiempo que espera en cola
+  private MensajeRecibido recibir(Message message) {
+    Disposable heartbeat =
+        properties.visibilityHeartbeat() ? heartbeat().start(message) : Disposables.disposed();
+    return new MensajeRecibido(message, heartbeat);
+  }
+
+  private synchronized SQSVisibilityHeartbeat heartbeat() {
+    if (visibilityHeartbeat == null) {
+      visibilityHeartbeat =
+          new SQSVisibilityHeartbeat(
+              client,
+              properties.queueUrl(),
+              properties.visibilityTimeoutSeconds(),
+              properties.maxVisibilityExtension());
+    }
+    return visibilityHeartbeat;
   }
 
   private Mono<Void> confirm(Message message) {
-    return Mono.fromCallable(() -> getDeleteMessageRequest(message.receiptHandle()))
-        .flatMap(request -> Mono.fromFuture(client.deleteMessage(request)))
-        .then();
+    return acknowledger().ack(message.receiptHandle());
+  }
+
+  private synchronized SQSAckAccumulator acknowledger() {
+    if (ackAccumulator == null) {
+      ackAccumulator =
+          new SQSAckAccumulator(client, properties.queueUrl(), properties.ackLinger());
+    }
+    return ackAccumulator;
   }
 
-  private Flux<Message> getMessages() {
+  private Flux<MensajeRecibido> getMessages() {
     return Mono.fromCallable(this::getReceiveMessageRequest)
         .flatMap(request -> Mono.fromFuture(client.receiveMessage(request)))
         .doOnNext(
             response -> log.debug("{} received messages from sqs", response.messages().size()))
-        .flatMapMany(response -> Flux.fromIterable(response.messages()));
+        .flatMapIterable(response -> response.messages().stream().map(this::recibir).toList());
   }
 
   private ReceiveMessageRequest getReceiveMessageRequest() {
@@ -73,10 +174,9 @@ public class SQSListener {
         .build();
   }
 
-  private DeleteMessageRequest getDeleteMessageRequest(String receiptHandle) {
-    return DeleteMessageRequest.builder()
-        .queueUrl(properties.queueUrl())
-        .receiptHandle(receiptHandle)
-        .build();
+  private record MensajeRecibido(Message message, Disposable heartbeat) {
+    void liberar() {
+      heartbeat.dispose();
+    }
   }
 }
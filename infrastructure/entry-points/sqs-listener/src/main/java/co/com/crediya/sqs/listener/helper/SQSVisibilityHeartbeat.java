@@ -0,0 +1,76 @@
+package co.com.crediya.sqs.listener.helper;
+
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+
+/**
+ * Desde que un mensaje se recibe y mientras sigue pendiente extiende periódicamente su visibility
+ * timeout para que no vuelva a la cola y se procese dos veces. La extensión se detiene al terminar
+ * el procesamiento o al alcanzar maxExtension, de modo que un procesamiento bloqueado no retenga el
+ * mensaje.
+ */
+@Log4j2
+public class SQSVisibilityHeartbeat {
+  private static final int MIN_VISIBILITY_TIMEOUT_SECONDS = 2;
+
+  private final SqsAsyncClient client;
+  private final String queueUrl;
+  private final int visibilityTimeoutSeconds;
+  private final Duration interval;
+  private final long maxBeats;
+
+  public SQSVisibilityHeartbeat(
+      SqsAsyncClient client, String queueUrl, int visibilityTimeoutSeconds, Duration maxExtension) {
+    if (visibilityTimeoutSeconds < MIN_VISIBILITY_TIMEOUT_SECONDS) {
+      throw new IllegalArgumentException(
+          String.format(
+              "visibilityTimeoutSeconds must be at least %d when the visibility heartbeat is"
+                  + " enabled, got %d",
+              MIN_VISIBILITY_TIMEOUT_SECONDS, visibilityTimeoutSeconds));
+    }
+    this.client = client;
+    this.queueUrl = queueUrl;
+    this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+    // Se renueva a la mitad del timeout para dejar margen a la latencia de la llamada
+    this.interval = Duration.ofMillis(visibilityTimeoutSeconds * 500L);
+    this.maxBeats = Math.max(1, maxExtension.toMillis() / interval.toMillis());
+  }
+
+  public Mono<Void> keepAlive(Message message, Mono<Void> processing) {
+    return Mono.defer(
+        () -> {
+          Disposable beats = start(message);
+          return processing.doFinally(signal -> beats.dispose());
+        });
+  }
+
+  /** Empieza a extender la visibilidad del mensaje hasta que se libere el Disposable. */
+  public Disposable start(Message message) {
+    return Flux.interval(interval)
+        .take(maxBeats)
+        .concatMap(beat -> extend(message))
+        .subscribe();
+  }
+
+  private Mono<Void> extend(Message message) {
+    ChangeMessageVisibilityRequest request =
+        ChangeMessageVisibilityRequest.builder()
+            .queueUrl(queueUrl)
+            .receiptHandle(message.receiptHandle())
+            .visibilityTimeout(visibilityTimeoutSeconds)
+            .build();
+    return Mono.fromFuture(() -> client.changeMessageVisibility(request))
+        .doOnNext(response -> log.debug("Visibility extended for message {}", message.messageId()))
+        .doOnError(
+            e -> log.warn("Could not extend visibility for message {}", message.messageId(), e))
+        .onErrorResume(e -> Mono.empty())
+        .then();
+  }
+}
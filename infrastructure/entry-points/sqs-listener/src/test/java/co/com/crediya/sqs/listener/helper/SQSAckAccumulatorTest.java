@@ -0,0 +1,104 @@
+package co.com.crediya.sqs.listener.helper;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SQSAckAccumulatorTest {
+  private static final String QUEUE_URL = "http://localhost:4566/00000000000/queueName";
+
+  @Test
+  void ackShouldDeleteBatchAndRetryFailedEntriesIndividually() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    var response =
+        DeleteMessageBatchResponse.builder()
+            .successful(DeleteMessageBatchResultEntry.builder().id("0").build())
+            .failed(
+                BatchResultErrorEntry.builder()
+                    .id("1")
+                    .code("InternalError")
+                    .senderFault(false)
+                    .build())
+            .build();
+    when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+    when(client.deleteMessage(any(DeleteMessageRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(DeleteMessageResponse.builder().build()));
+
+    var accumulator = new SQSAckAccumulator(client, QUEUE_URL, Duration.ofMillis(50));
+
+    StepVerifier.create(Mono.when(accumulator.ack("r1"), accumulator.ack("r2")))
+        .expectComplete()
+        .verify(Duration.ofSeconds(2));
+
+    ArgumentCaptor<DeleteMessageRequest> captor = ArgumentCaptor.forClass(DeleteMessageRequest.class);
+    verify(client).deleteMessage(captor.capture());
+    assertThat(captor.getValue().receiptHandle()).isEqualTo("r2");
+    accumulator.stop();
+  }
+
+  @Test
+  void ackShouldNotRetrySenderFaultEntries() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    var response =
+        DeleteMessageBatchResponse.builder()
+            .failed(
+                BatchResultErrorEntry.builder()
+                    .id("0")
+                    .code("ReceiptHandleIsInvalid")
+                    .senderFault(true)
+                    .build())
+            .build();
+    when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    var accumulator = new SQSAckAccumulator(client, QUEUE_URL, Duration.ofMillis(50));
+
+    StepVerifier.create(accumulator.ack("r1")).expectComplete().verify(Duration.ofSeconds(2));
+
+    verify(client, never()).deleteMessage(any(DeleteMessageRequest.class));
+    accumulator.stop();
+  }
+
+  @Test
+  void stopShouldDeletePendingEntriesBeforeLingerExpires() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                DeleteMessageBatchResponse.builder()
+                    .successful(DeleteMessageBatchResultEntry.builder().id("0").build())
+                    .build()));
+
+    var accumulator = new SQSAckAccumulator(client, QUEUE_URL, Duration.ofMinutes(1));
+
+    StepVerifier.create(accumulator.ack("r1"))
+        .then(accumulator::stop)
+        .expectComplete()
+        .verify(Duration.ofSeconds(2));
+
+    ArgumentCaptor<DeleteMessageBatchRequest> captor =
+        ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+    verify(client).deleteMessageBatch(captor.capture());
+    assertThat(captor.getValue().entries()).hasSize(1);
+    StepVerifier.create(accumulator.ack("r2")).expectError().verify(Duration.ofSeconds(1));
+  }
+}
@@ -0,0 +1,96 @@
+package co.com.crediya.sqs.listener.helper;
+
+import co.com.crediya.model.solicitud.gateways.MensajeProcesadoRepository;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SQSIdempotencyStoreTest {
+
+  @Test
+  void markedKeysShouldBeAnsweredFromMemory() {
+    MensajeProcesadoRepository repository = mock(MensajeProcesadoRepository.class);
+    when(repository.registrar(anyString())).thenReturn(Mono.empty());
+    var store = new SQSIdempotencyStore(repository, 10, Duration.ofHours(1), true);
+
+    StepVerifier.create(store.markProcessed("mensaje:1", "solicitud:1:APROBADA"))
+        .verifyComplete();
+    StepVerifier.create(store.isProcessed("solicitud:1:APROBADA"))
+        .expectNext(true)
+        .verifyComplete();
+
+    verify(repository).registrar("mensaje:1");
+    verify(repository).registrar("solicitud:1:APROBADA");
+    verify(repository, never()).fueProcesado(anyString(), any());
+  }
+
+  @Test
+  void missesShouldFallBackToRepositoryWithTheSameTtlWhenPersistent() {
+    MensajeProcesadoRepository repository = mock(MensajeProcesadoRepository.class);
+    when(repository.fueProcesado("mensaje:2", Duration.ofHours(1))).thenReturn(Mono.just(true));
+    var store = new SQSIdempotencyStore(repository, 10, Duration.ofHours(1), true);
+
+    StepVerifier.create(store.isProcessed("mensaje:2")).expectNext(true).verifyComplete();
+    StepVerifier.create(store.isProcessed("mensaje:2")).expectNext(true).verifyComplete();
+
+    // Los aciertos de la base no se copian al LRU con un ttl nuevo
+    verify(repository, times(2)).fueProcesado("mensaje:2", Duration.ofHours(1));
+  }
+
+  @Test
+  void expiredKeysShouldBeCheckedAgainstRepositoryWithTheTtl() {
+    MensajeProcesadoRepository repository = mock(MensajeProcesadoRepository.class);
+    when(repository.registrar(anyString())).thenReturn(Mono.empty());
+    when(repository.fueProcesado("solicitud:1:APROBADA", Duration.ofHours(1)))
+        .thenReturn(Mono.just(false));
+    Clock clock = mock(Clock.class);
+    Instant now = Instant.parse("2026-01-01T00:00:00Z");
+    when(clock.instant()).thenReturn(now, now.plus(Duration.ofHours(2)));
+    var store = new SQSIdempotencyStore(repository, 10, Duration.ofHours(1), true, clock);
+
+    StepVerifier.create(store.markProcessed("solicitud:1:APROBADA")).verifyComplete();
+
+    StepVerifier.create(store.isProcessed("solicitud:1:APROBADA"))
+        .expectNext(false)
+        .verifyComplete();
+  }
+
+  @Test
+  void nonPersistentStoreShouldNotTouchRepository() {
+    MensajeProcesadoRepository repository = mock(MensajeProcesadoRepository.class);
+    var store = new SQSIdempotencyStore(repository, 1, Duration.ofHours(1), false);
+
+    StepVerifier.create(store.markProcessed("mensaje:1")).verifyComplete();
+    StepVerifier.create(store.markProcessed("mensaje:2")).verifyComplete();
+
+    StepVerifier.create(store.isProcessed("mensaje:1")).expectNext(false).verifyComplete();
+    StepVerifier.create(store.isProcessed("mensaje:2")).expectNext(true).verifyComplete();
+    verify(repository, never()).registrar(anyString());
+    verify(repository, never()).fueProcesado(anyString(), any());
+  }
+
+  @Test
+  void expiredKeysShouldNotBeReportedAsProcessed() {
+    MensajeProcesadoRepository repository = mock(MensajeProcesadoRepository.class);
+    Clock clock = mock(Clock.class);
+    Instant now = Instant.parse("2026-01-01T00:00:00Z");
+    when(clock.instant()).thenReturn(now, now.plus(Duration.ofHours(2)));
+    var store = new SQSIdempotencyStore(repository, 10, Duration.ofHours(1), false, clock);
+
+    StepVerifier.create(store.markProcessed("mensaje:1")).verifyComplete();
+
+    StepVerifier.create(store.isProcessed("mensaje:1")).expectNext(false).verifyComplete();
+  }
+}
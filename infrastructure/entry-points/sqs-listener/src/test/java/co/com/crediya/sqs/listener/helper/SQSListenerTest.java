@@ -4,24 +4,198 @@ import co.com.crediya.sqs.listener.SQSProcessor;
 import co.com.crediya.sqs.listener.config.SQSProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class SQSListenerTest {
+
+  @Test
+  void listenConcurrentlyShouldDeleteProcessedMessagesInBatches() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    var properties =
+        new SQSProperties(
+            "us-east-1",
+            "http://localhost:4566",
+            "http://localhost:4566/00000000000/queueName",
+            20,
+            30,
+            10,
+            1,
+            5,
+            1,
+            Duration.ofMillis(50),
+            false,
+            Duration.ofMinutes(5),
+            new SQSProperties.Idempotency(100, Duration.ofHours(1), false));
+    var messages =
+        ReceiveMessageResponse.builder()
+            .messages(
+                Message.builder().messageId("1").receiptHandle("r1").body("a").build(),
+                Message.builder().messageId("2").receiptHandle("r2").body("b").build())
+            .build();
+    when(client.receiveMessage(any(ReceiveMessageRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(messages))
+        .thenReturn(new CompletableFuture<>());
+    when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+
+    var sqsListener =
+        SQSListener.builder()
+            .client(client)
+            .properties(properties)
+            .processor(message -> Mono.empty())
+            .operation("operation")
+            .build();
+
+    Disposable subscription = sqsListener.listenConcurrently().subscribe();
+    try {
+      ArgumentCaptor<DeleteMessageBatchRequest> captor =
+          ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+      verify(client, timeout(2000)).deleteMessageBatch(captor.capture());
+      assertThat(captor.getValue().entries())
+          .extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+          .containsExactly("r1", "r2");
+    } finally {
+      subscription.dispose();
+    }
+  }
+
+  @Test
+  void listenConcurrentlyShouldExtendVisibilityOfMessagesWaitingForAnInFlightSlot() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    var properties =
+        new SQSProperties(
+            "us-east-1",
+            "http://localhost:4566",
+            "http://localhost:4566/00000000000/queueName",
+            20,
+            2,
+            10,
+            1,
+            1,
+            1,
+            Duration.ofMillis(50),
+            true,
+            Duration.ofMinutes(5),
+            new SQSProperties.Idempotency(100, Duration.ofHours(1), false));
+    var messages =
+        ReceiveMessageResponse.builder()
+            .messages(
+                Message.builder().messageId("1").receiptHandle("r1").body("a").build(),
+                Message.builder().messageId("2").receiptHandle("r2").body("b").build())
+            .build();
+    when(client.receiveMessage(any(ReceiveMessageRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(messages))
+        .thenReturn(new CompletableFuture<>());
+    when(client.changeMessageVisibility(any(ChangeMessageVisibilityRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(ChangeMessageVisibilityResponse.builder().build()));
+    when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+
+    var sqsListener =
+        SQSListener.builder()
+            .client(client)
+            .properties(properties)
+            .processor(message -> Mono.delay(Duration.ofSeconds(3)).then())
+            .operation("operation")
+            .build();
+
+    Disposable subscription = sqsListener.listenConcurrently().subscribe();
+    try {
+      // El segundo mensaje sigue esperando a que termine el primero y aun así se extiende
+      verify(client, timeout(2500))
+          .changeMessageVisibility(
+              argThat(
+                  (ChangeMessageVisibilityRequest request) ->
+                      "r2".equals(request.receiptHandle())));
+    } finally {
+      subscription.dispose();
+    }
+  }
+
+  @Test
+  void stopShouldDeleteProcessedMessagesStillWaitingForABatch() throws InterruptedException {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    var properties =
+        new SQSProperties(
+            "us-east-1",
+            "http://localhost:4566",
+            "http://localhost:4566/00000000000/queueName",
+            20,
+            30,
+            10,
+            1,
+            5,
+            1,
+            Duration.ofMinutes(1),
+            false,
+            Duration.ofMinutes(5),
+            new SQSProperties.Idempotency(100, Duration.ofHours(1), false));
+    var messages =
+        ReceiveMessageResponse.builder()
+            .messages(Message.builder().messageId("1").receiptHandle("r1").body("a").build())
+            .build();
+    when(client.receiveMessage(any(ReceiveMessageRequest.class)))
+        .thenReturn(CompletableFuture.completedFuture(messages))
+        .thenReturn(new CompletableFuture<>());
+    when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+
+    var sqsListener =
+        SQSListener.builder()
+            .client(client)
+            .properties(properties)
+            .processor(message -> Mono.empty())
+            .build()
+            .start();
+
+    // Con un linger de un minuto el lote no se envía por tiempo
+    Thread.sleep(300);
+    verify(client, never()).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+
+    sqsListener.stop();
+
+    ArgumentCaptor<DeleteMessageBatchRequest> captor =
+        ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+    verify(client).deleteMessageBatch(captor.capture());
+    assertThat(captor.getValue().entries())
+        .extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+        .containsExactly("r1");
+  }
+
 /*
   @Mock private SqsAsyncClient asyncClient;
 
@@ -39,7 +213,13 @@ class SQSListenerTest {
             20,
             30,
             10,
-            1);
+            1,
+            0,
+            1,
+            Duration.ofMillis(200),
+            false,
+            Duration.ofMinutes(5),
+            new SQSProperties.Idempotency(100, Duration.ofHours(1), false));
 
     var message = Message.builder().body("message").build();
     var deleteMessageResponse = DeleteMessageResponse.builder().build();
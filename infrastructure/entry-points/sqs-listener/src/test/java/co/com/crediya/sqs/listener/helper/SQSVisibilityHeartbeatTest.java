@@ -0,0 +1,63 @@
+package co.com.crediya.sqs.listener.helper;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SQSVisibilityHeartbeatTest {
+  private static final String QUEUE_URL = "http://localhost:4566/00000000000/queueName";
+  private final Message message =
+      Message.builder().messageId("1").receiptHandle("r1").body("a").build();
+
+  @Test
+  void keepAliveShouldExtendVisibilityWhileProcessingIsSlow() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    when(client.changeMessageVisibility(any(ChangeMessageVisibilityRequest.class)))
+        .thenReturn(
+            CompletableFuture.completedFuture(ChangeMessageVisibilityResponse.builder().build()));
+    var heartbeat = new SQSVisibilityHeartbeat(client, QUEUE_URL, 2, Duration.ofMinutes(1));
+
+    StepVerifier.create(heartbeat.keepAlive(message, Mono.delay(Duration.ofMillis(1500)).then()))
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+
+    verify(client, atLeastOnce()).changeMessageVisibility(any(ChangeMessageVisibilityRequest.class));
+  }
+
+  @Test
+  void keepAliveShouldNotExtendVisibilityWhenProcessingIsFast() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    var heartbeat = new SQSVisibilityHeartbeat(client, QUEUE_URL, 2, Duration.ofMinutes(1));
+
+    StepVerifier.create(heartbeat.keepAlive(message, Mono.empty())).verifyComplete();
+
+    verify(client, after(1500).never())
+        .changeMessageVisibility(any(ChangeMessageVisibilityRequest.class));
+  }
+
+  @Test
+  void constructorShouldRejectVisibilityTimeoutsWithoutRenewalMargin() {
+    SqsAsyncClient client = mock(SqsAsyncClient.class);
+    Duration maxExtension = Duration.ofMinutes(1);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new SQSVisibilityHeartbeat(client, QUEUE_URL, 1, maxExtension));
+  }
+}
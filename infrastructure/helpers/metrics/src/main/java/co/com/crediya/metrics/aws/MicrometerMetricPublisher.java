@@ -1,54 +1,115 @@
 package co.com.crediya.metrics.aws;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.metrics.MetricCollection;
 import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.MetricRecord;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Publica las métricas del SDK de AWS en Micrometer. Los timers y counters se resuelven una sola
+ * vez por (métrica, tags) y las colecciones se procesan en una cola acotada: si la cola está llena
+ * la colección se descarta y se cuenta en {@code aws.sdk.metrics.dropped}.
+ */
 @Component
-@AllArgsConstructor
 public class MicrometerMetricPublisher implements MetricPublisher {
-  private final ExecutorService service = Executors.newFixedThreadPool(10);
+  private static final int HILOS = 2;
+  private static final int CAPACIDAD_COLA = 10_000;
+  private static final long ESPERA_CIERRE_SEGUNDOS = 5;
+
   private final MeterRegistry registry;
+  private final BlockingQueue<Runnable> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+  private final ThreadPoolExecutor service;
+  private final Counter descartadas;
+  private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+
+  public MicrometerMetricPublisher(MeterRegistry registry) {
+    this.registry = registry;
+    this.descartadas = registry.counter("aws.sdk.metrics.dropped");
+    this.service =
+        new ThreadPoolExecutor(
+            HILOS,
+            HILOS,
+            0L,
+            TimeUnit.MILLISECONDS,
+            cola,
+            new PublisherThreadFactory(),
+            (tarea, executor) -> descartadas.increment());
+    registry.gauge("aws.sdk.metrics.backlog", cola, BlockingQueue::size);
+  }
 
   @Override
   public void publish(MetricCollection metricCollection) {
-    service.submit(
-        () -> {
-          List<Tag> tags = buildTags(metricCollection);
-          metricCollection.stream()
-              .filter(
-                  record -> record.value() instanceof Duration || record.value() instanceof Integer)
-              .forEach(
-                  record -> {
-                    if (record.value() instanceof Duration) {
-                      registry
-                          .timer(record.metric().name(), tags)
-                          .record((Duration) record.value());
-                    } else if (record.value() instanceof Integer) {
-                      registry
-                          .counter(record.metric().name(), tags)
-                          .increment((Integer) record.value());
-                    }
-                  });
-        });
+    service.execute(() -> registrar(metricCollection));
   }
 
   @Override
-  public void close() {}
+  public void close() {
+    service.shutdown();
+    try {
+      service.awaitTermination(ESPERA_CIERRE_SEGUNDOS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void registrar(MetricCollection metricCollection) {
+    Tags tags = buildTags(metricCollection);
+    for (MetricRecord<?> record : metricCollection) {
+      Object value = record.value();
+      if (value instanceof Duration duration) {
+        timers
+            .computeIfAbsent(
+                new MeterKey(record.metric().name(), tags),
+                key -> registry.timer(key.metric(), key.tags()))
+            .record(duration);
+      } else if (value instanceof Integer cantidad) {
+        counters
+            .computeIfAbsent(
+                new MeterKey(record.metric().name(), tags),
+                key -> registry.counter(key.metric(), key.tags()))
+            .increment(cantidad);
+      }
+    }
+  }
+
+  private Tags buildTags(MetricCollection metricCollection) {
+    List<Tag> tags = new ArrayList<>();
+    for (MetricRecord<?> record : metricCollection) {
+      if (record.value() instanceof String || record.value() instanceof Boolean) {
+        tags.add(Tag.of(record.metric().name(), record.value().toString()));
+      }
+    }
+    return Tags.of(tags);
+  }
+
+  private record MeterKey(String metric, Tags tags) {}
+
+  private static class PublisherThreadFactory implements ThreadFactory {
+    private final AtomicInteger contador = new AtomicInteger();
 
-  private List<Tag> buildTags(MetricCollection metricCollection) {
-    return metricCollection.stream()
-        .filter(record -> record.value() instanceof String || record.value() instanceof Boolean)
-        .map(record -> Tag.of(record.metric().name(), record.value().toString()))
-        .collect(Collectors.toList());
+    @Override
+    public Thread newThread(Runnable tarea) {
+      Thread hilo = new Thread(tarea, "aws-metrics-publisher-" + contador.incrementAndGet());
+      hilo.setDaemon(true);
+      return hilo;
+    }
   }
 }
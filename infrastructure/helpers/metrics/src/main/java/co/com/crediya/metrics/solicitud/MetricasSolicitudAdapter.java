@@ -0,0 +1,82 @@
+package co.com.crediya.metrics.solicitud;
+
+import co.com.crediya.model.common.gateways.MetricasGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers por etapa de los flujos de solicitud, publicados como {@code solicitud.etapa} con los
+ * tags flujo, etapa, tipoPrestamo y resultado. Los timers de cada etapa se resuelven una sola vez y
+ * al terminar la medición solo se elige el timer según la señal, sin construir claves.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricasSolicitudAdapter implements MetricasGateway {
+  private static final String METRICA = "solicitud.etapa";
+
+  private final MeterRegistry registry;
+  private final Map<String, Map<String, Map<String, TimersEtapa>>> timers =
+      new ConcurrentHashMap<>();
+
+  @Override
+  public <T> Mono<T> medirEtapa(
+      String flujo, String etapa, String tipoPrestamo, Mono<T> operacion) {
+    TimersEtapa timersEtapa =
+        timersDe(flujo, etapa, tipoPrestamo != null ? tipoPrestamo : SIN_TIPO_PRESTAMO);
+    return Mono.defer(
+        () -> {
+          long inicio = System.nanoTime();
+          return operacion.doFinally(
+              senal ->
+                  timersEtapa
+                      .de(senal)
+                      .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS));
+        });
+  }
+
+  private TimersEtapa timersDe(String flujo, String etapa, String tipoPrestamo) {
+    Map<String, TimersEtapa> porTipoPrestamo =
+        timers
+            .computeIfAbsent(flujo, f -> new ConcurrentHashMap<>())
+            .computeIfAbsent(etapa, e -> new ConcurrentHashMap<>());
+    TimersEtapa timersEtapa = porTipoPrestamo.get(tipoPrestamo);
+    if (timersEtapa != null) {
+      return timersEtapa;
+    }
+    return porTipoPrestamo.computeIfAbsent(
+        tipoPrestamo,
+        tipo ->
+            new TimersEtapa(
+                crearTimer(flujo, etapa, tipo, "exito"),
+                crearTimer(flujo, etapa, tipo, "error"),
+                crearTimer(flujo, etapa, tipo, "cancelada")));
+  }
+
+  private Timer crearTimer(String flujo, String etapa, String tipoPrestamo, String resultado) {
+    return Timer.builder(METRICA)
+        .tag("flujo", flujo)
+        .tag("etapa", etapa)
+        .tag("tipoPrestamo", tipoPrestamo)
+        .tag("resultado", resultado)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  private record TimersEtapa(Timer exito, Timer error, Timer cancelada) {
+    private Timer de(SignalType senal) {
+      return switch (senal) {
+        case ON_ERROR -> error;
+        case CANCEL -> cancelada;
+        default -> exito;
+      };
+    }
+  }
+}
@@ -2,9 +2,17 @@ package co.com.crediya.metrics.aws;
 
 import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
 import io.micrometer.core.instrument.logging.LoggingRegistryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.metrics.SdkMetric;
 import software.amazon.awssdk.metrics.internal.EmptyMetricCollection;
 
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 class MicrometerMetricPublisherTest {
@@ -22,4 +30,30 @@ class MicrometerMetricPublisherTest {
 
     assertNotNull(micrometerMetricPublisher);
   }
+
+  @Test
+  void publishReusesMeterHandlesPerMetricAndTags() {
+    SdkMetric<String> operation =
+        SdkMetric.create("TestOperation", String.class, MetricLevel.INFO, MetricCategory.CORE);
+    SdkMetric<Duration> latency =
+        SdkMetric.create("TestLatency", Duration.class, MetricLevel.INFO, MetricCategory.CORE);
+    SdkMetric<Integer> retries =
+        SdkMetric.create("TestRetries", Integer.class, MetricLevel.INFO, MetricCategory.CORE);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MicrometerMetricPublisher publisher = new MicrometerMetricPublisher(registry);
+
+    for (int i = 0; i < 3; i++) {
+      MetricCollector collector = MetricCollector.create("ApiCall");
+      collector.reportMetric(operation, "SendMessage");
+      collector.reportMetric(latency, Duration.ofMillis(10));
+      collector.reportMetric(retries, 1);
+      publisher.publish(collector.collect());
+    }
+    publisher.close();
+
+    assertEquals(3, registry.get("TestLatency").tag("TestOperation", "SendMessage").timer().count());
+    assertEquals(
+        3.0, registry.get("TestRetries").tag("TestOperation", "SendMessage").counter().count());
+    assertEquals(0.0, registry.get("aws.sdk.metrics.dropped").counter().count());
+  }
 }
@@ -0,0 +1,71 @@
+package co.com.crediya.metrics.solicitud;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MetricasSolicitudAdapterTest {
+
+  @Test
+  void medirEtapaRegistersOutcomePerStage() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MetricasSolicitudAdapter adapter = new MetricasSolicitudAdapter(registry);
+
+    StepVerifier.create(adapter.medirEtapa("crear_solicitud", "insercion", "Libre", Mono.just(1)))
+        .expectNext(1)
+        .verifyComplete();
+    StepVerifier.create(
+            adapter.medirEtapa(
+                "crear_solicitud", "insercion", null, Mono.error(new IllegalStateException())))
+        .verifyError(IllegalStateException.class);
+
+    assertEquals(
+        1,
+        registry
+            .get("solicitud.etapa")
+            .tags("etapa", "insercion", "tipoPrestamo", "Libre", "resultado", "exito")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get("solicitud.etapa")
+            .tags("tipoPrestamo", "ninguno", "resultado", "error")
+            .timer()
+            .count());
+  }
+
+  @Test
+  void medirEtapaReusesTimersAcrossCalls() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    MetricasSolicitudAdapter adapter = new MetricasSolicitudAdapter(registry);
+
+    for (int i = 0; i < 3; i++) {
+      StepVerifier.create(adapter.medirEtapa("crear_solicitud", "insercion", "Libre", Mono.just(i)))
+          .expectNext(i)
+          .verifyComplete();
+    }
+    StepVerifier.create(adapter.medirEtapa("crear_solicitud", "insercion", "Libre", Mono.never()))
+        .thenCancel()
+        .verify();
+
+    assertEquals(
+        3,
+        registry
+            .get("solicitud.etapa")
+            .tags("tipoPrestamo", "Libre", "resultado", "exito")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get("solicitud.etapa")
+            .tags("tipoPrestamo", "Libre", "resultado", "cancelada")
+            .timer()
+            .count());
+    assertEquals(3, registry.get("solicitud.etapa").timers().size());
+  }
+}